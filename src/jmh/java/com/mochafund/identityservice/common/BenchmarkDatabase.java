@@ -0,0 +1,74 @@
+package com.mochafund.identityservice.common;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A throwaway schema migrated with the service's own Flyway scripts, for benchmarks that need
+ * the real tables and indexes. Connects with the same DB_* variables as docker-compose, using
+ * DB_EXPOSE_PORT since benchmarks run from the host.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private final String baseUrl;
+    private final String user;
+    private final String password;
+    private final String schema;
+
+    private BenchmarkDatabase(String schema) {
+        this.baseUrl = String.format("jdbc:postgresql://%s:%s/%s",
+                env("DB_HOST", "localhost"), env("DB_EXPOSE_PORT", "5432"), env("DB_NAME", "identity"));
+        this.user = env("DB_USER", "postgres");
+        this.password = env("DB_PASSWORD", "postgres");
+        this.schema = schema;
+    }
+
+    /**
+     * Drops any leftover copy of the schema and migrates a fresh one.
+     */
+    public static BenchmarkDatabase migrate(String schema) throws SQLException {
+        BenchmarkDatabase database = new BenchmarkDatabase(schema);
+        database.dropSchema();
+
+        Flyway.configure()
+                .dataSource(database.baseUrl, database.user, database.password)
+                .schemas(schema)
+                .createSchemas(true)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return database;
+    }
+
+    /**
+     * A connection with the benchmark schema on its search path and auto-commit off.
+     */
+    public Connection connect(boolean reWriteBatchedInserts) throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                baseUrl + "?currentSchema=" + schema + "&reWriteBatchedInserts=" + reWriteBatchedInserts,
+                user, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        dropSchema();
+    }
+
+    private void dropSchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(baseUrl, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
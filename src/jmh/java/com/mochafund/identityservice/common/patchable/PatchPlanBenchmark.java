@@ -0,0 +1,118 @@
+package com.mochafund.identityservice.common.patchable;
+
+import com.mochafund.identityservice.common.annotations.PatchableField;
+import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.user.dto.UpdateUserDto;
+import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.workspace.membership.dto.UpdateMembershipDto;
+import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PatchPlan} against the BeanWrapper-based copy it replaced. Each invocation
+ * alternates between two DTOs so every call really writes to the entity. Run with
+ * {@code -prof gc} to see the per-call allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchPlanBenchmark {
+
+    private static final Map<Class<?>, Set<String>> PATCHABLE_CACHE = new ConcurrentHashMap<>();
+
+    private final UpdateUserDto[] userDtos = {
+            UpdateUserDto.builder().email("ada@example.com").givenName("Ada").familyName("Lovelace").build(),
+            UpdateUserDto.builder().email("grace@example.com").givenName("Grace").familyName("Hopper").build()
+    };
+    private final UpdateMembershipDto[] membershipDtos = {
+            UpdateMembershipDto.builder().roles(Set.of(Role.READ)).build(),
+            UpdateMembershipDto.builder().roles(Set.of(Role.READ, Role.WRITE)).build()
+    };
+
+    private User user;
+    private WorkspaceMembership membership;
+    private int i;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        membership = new WorkspaceMembership();
+        membership.setStatus(MembershipStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public Object userPlan() {
+        return user.patchFrom(userDtos[i++ & 1]);
+    }
+
+    @Benchmark
+    public Object userBeanWrapper() {
+        beanWrapperPatch(user, userDtos[i++ & 1]);
+        return user;
+    }
+
+    @Benchmark
+    public Object membershipPlan() {
+        return membership.patchFrom(membershipDtos[i++ & 1]);
+    }
+
+    @Benchmark
+    public Object membershipBeanWrapper() {
+        beanWrapperPatch(membership, membershipDtos[i++ & 1]);
+        return membership;
+    }
+
+    /**
+     * The pre-PatchPlan implementation of {@code Patchable.patchFrom}, kept here as the baseline.
+     */
+    private static void beanWrapperPatch(Object entity, Object dto) {
+        BeanWrapper src = new BeanWrapperImpl(dto);
+        BeanWrapper dst = new BeanWrapperImpl(entity);
+
+        Set<String> allowed = PATCHABLE_CACHE.computeIfAbsent(entity.getClass(), PatchPlanBenchmark::patchableFields);
+
+        for (PropertyDescriptor pd : dst.getPropertyDescriptors()) {
+            String name = pd.getName();
+            if (!allowed.contains(name)) continue;
+            if (!src.isReadableProperty(name) || !dst.isWritableProperty(name)) continue;
+
+            Object val = src.getPropertyValue(name);
+            if (val != null) {
+                dst.setPropertyValue(name, val);
+            }
+        }
+    }
+
+    private static Set<String> patchableFields(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (f.isAnnotationPresent(PatchableField.class)) names.add(f.getName());
+            }
+        }
+        return names;
+    }
+}
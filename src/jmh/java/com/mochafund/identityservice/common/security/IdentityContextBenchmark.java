@@ -0,0 +1,107 @@
+package com.mochafund.identityservice.common.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identity work done by one workspace-scoped write request: the user and workspace id resolvers,
+ * the LOCAL authorization check, KeycloakAdminService's subject lookup and KafkaProducer's actor.
+ * {@code perLookupParsing} repeats the claim lookups each of those used to do on its own;
+ * {@code identityContext} goes through the request-cached {@link IdentityContext}. Each
+ * invocation starts a fresh request so the first parse is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityContextBenchmark {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Setup
+    public void setUp() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(UUID.randomUUID().toString())
+                .claim("user_id", UUID.randomUUID().toString())
+                .claim("workspace_id", UUID.randomUUID().toString())
+                .claim("preferred_username", "ada@example.com")
+                .claim("roles", List.of("READ", "WRITE"))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void identityContext(Blackhole bh) {
+        startRequest();
+
+        bh.consume(IdentityContext.find().orElseThrow().userId().orThrow());
+        bh.consume(IdentityContext.find().orElseThrow().workspaceId().orThrow());
+        IdentityContext.find().ifPresent(identity -> {
+            bh.consume(identity.userId().value());
+            bh.consume(identity.workspaceId().value());
+        });
+        bh.consume(IdentityContext.find().orElseThrow().subject());
+        bh.consume(IdentityContext.find()
+                .map(identity -> identity.preferredUsername().orElse(identity.subjectId().raw()))
+                .orElse("SYSTEM"));
+    }
+
+    @Benchmark
+    public void perLookupParsing(Blackhole bh) {
+        startRequest();
+
+        bh.consume(UUID.fromString(currentJwt().getClaimAsString("user_id")));
+        bh.consume(UUID.fromString(currentJwt().getClaimAsString("workspace_id")));
+        Jwt jwt = currentJwt();
+        bh.consume(UUID.fromString(jwt.getClaimAsString("user_id")));
+        bh.consume(UUID.fromString(jwt.getClaimAsString("workspace_id")));
+        bh.consume(currentJwt().getSubject());
+        bh.consume(currentJwt().getClaimAsString("preferred_username"));
+    }
+
+    private void startRequest() {
+        request.clearAttributes();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static Jwt currentJwt() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            throw new IllegalStateException("No JWT token found");
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mochafund.identityservice.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.workspace.events.WorkspaceEventPayload;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link EventEnvelopeDeserializer} against the previous consumer path: Kafka's
+ * StringDeserializer followed by {@code ObjectMapper.readValue} with a JavaType built per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventEnvelopeDeserializerBenchmark {
+
+    private static final String TOPIC = EventType.WORKSPACE_CREATED;
+
+    private ObjectMapper objectMapper;
+    private StringDeserializer stringDeserializer;
+    private EventEnvelopeDeserializer envelopeDeserializer;
+    private byte[] record;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        stringDeserializer = new StringDeserializer();
+        envelopeDeserializer = new EventEnvelopeDeserializer(objectMapper);
+
+        EventEnvelope<WorkspaceEventPayload> event = EventEnvelope.<WorkspaceEventPayload>builder()
+                .type(TOPIC)
+                .correlationId(UUID.randomUUID())
+                .actor(UUID.randomUUID().toString())
+                .payload(WorkspaceEventPayload.builder()
+                        .workspaceId(UUID.randomUUID())
+                        .name("Benchmark Workspace")
+                        .status("PROVISIONING")
+                        .build())
+                .build();
+        record = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public EventEnvelope<?> cachedReaderFromBytes() {
+        return envelopeDeserializer.deserialize(TOPIC, record);
+    }
+
+    @Benchmark
+    public EventEnvelope<?> stringThenParametricType() throws Exception {
+        String message = stringDeserializer.deserialize(TOPIC, record);
+        return objectMapper.readValue(
+                message,
+                objectMapper.getTypeFactory().constructParametricType(EventEnvelope.class, WorkspaceEventPayload.class)
+        );
+    }
+}
@@ -0,0 +1,180 @@
+package com.mochafund.identityservice.workspace.membership;
+
+import com.mochafund.identityservice.common.BenchmarkDatabase;
+import com.mochafund.identityservice.common.entity.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds {@code members} users to one workspace against a real PostgreSQL (see
+ * {@link BenchmarkDatabase}):
+ * <ul>
+ *     <li>{@code rowByRow}: the old write path, one round-trip per membership with a random v4 id</li>
+ *     <li>{@code jdbcBatch}: Hibernate's path with batch_size 50, client-side UUIDv7 ids and
+ *     reWriteBatchedInserts</li>
+ *     <li>{@code unnestOnConflict}: the single statement behind
+ *     {@code IMembershipRepository.insertAllIgnoringExisting}</li>
+ * </ul>
+ * Memberships are truncated before every invocation so each run inserts into the same table state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkMembershipInsertBenchmark {
+
+    private static final int HIBERNATE_BATCH_SIZE = 50;
+    private static final String ROLES = "[\"READ\"]";
+
+    private static final String INSERT_ONE = """
+            INSERT INTO workspace_memberships (id, user_id, workspace_id, roles, status, joined_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?::jsonb, 'ACTIVE', ?, ?, ?)
+            """;
+
+    private static final String INSERT_UNNEST = """
+            INSERT INTO workspace_memberships (id, user_id, workspace_id, roles, status, joined_at, created_at, updated_at)
+            SELECT item.id, item.user_id, ?, item.roles::jsonb, 'ACTIVE', ?, ?, ?
+            FROM unnest(CAST(? AS uuid[]), CAST(? AS uuid[]), CAST(? AS text[])) AS item(id, user_id, roles)
+            ON CONFLICT (user_id, workspace_id) DO NOTHING
+            RETURNING *
+            """;
+
+    @Param({"100", "1000"})
+    public int members;
+
+    private BenchmarkDatabase database;
+    private Connection plain;
+    private Connection rewriting;
+    private UUID workspaceId;
+    private UUID[] userIds;
+    private String[] roles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.migrate("bench_bulk_membership");
+        plain = database.connect(false);
+        rewriting = database.connect(true);
+
+        workspaceId = UuidV7Generator.next();
+        userIds = new UUID[members];
+        roles = new String[members];
+        Arrays.fill(roles, ROLES);
+
+        try (PreparedStatement workspace = rewriting.prepareStatement(
+                "INSERT INTO workspaces (id, status) VALUES (?, 'ACTIVE')");
+             PreparedStatement user = rewriting.prepareStatement(
+                     "INSERT INTO users (id, email, given_name, family_name) VALUES (?, ?, 'Bench', 'User')")) {
+            workspace.setObject(1, workspaceId);
+            workspace.executeUpdate();
+
+            for (int i = 0; i < members; i++) {
+                userIds[i] = UuidV7Generator.next();
+                user.setObject(1, userIds[i]);
+                user.setString(2, "bench-" + i + "@example.com");
+                user.addBatch();
+            }
+            user.executeBatch();
+        }
+        rewriting.commit();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearMemberships() throws Exception {
+        try (Statement statement = plain.createStatement()) {
+            statement.execute("TRUNCATE workspace_memberships");
+        }
+        plain.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        plain.close();
+        rewriting.close();
+        database.close();
+    }
+
+    @Benchmark
+    public int rowByRow() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        int inserted = 0;
+        try (PreparedStatement insert = plain.prepareStatement(INSERT_ONE)) {
+            for (UUID userId : userIds) {
+                bind(insert, UUID.randomUUID(), userId, now);
+                inserted += insert.executeUpdate();
+            }
+        }
+        plain.commit();
+        return inserted;
+    }
+
+    @Benchmark
+    public int jdbcBatch() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        int inserted = 0;
+        try (PreparedStatement insert = rewriting.prepareStatement(INSERT_ONE)) {
+            for (int i = 0; i < userIds.length; i++) {
+                bind(insert, UuidV7Generator.next(), userIds[i], now);
+                insert.addBatch();
+                if ((i + 1) % HIBERNATE_BATCH_SIZE == 0 || i == userIds.length - 1) {
+                    inserted += insert.executeBatch().length;
+                }
+            }
+        }
+        rewriting.commit();
+        return inserted;
+    }
+
+    @Benchmark
+    public int unnestOnConflict() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        int inserted = 0;
+        try (PreparedStatement insert = plain.prepareStatement(INSERT_UNNEST)) {
+            insert.setObject(1, workspaceId);
+            insert.setObject(2, now);
+            insert.setObject(3, now);
+            insert.setObject(4, now);
+            UUID[] ids = new UUID[userIds.length];
+            for (int i = 0; i < ids.length; i++) ids[i] = UuidV7Generator.next();
+            insert.setArray(5, plain.createArrayOf("uuid", ids));
+            insert.setArray(6, plain.createArrayOf("uuid", userIds));
+            insert.setArray(7, plain.createArrayOf("text", roles));
+            try (ResultSet rows = insert.executeQuery()) {
+                while (rows.next()) inserted++;
+            }
+        }
+        plain.commit();
+        return inserted;
+    }
+
+    private void bind(PreparedStatement insert, UUID id, UUID userId, OffsetDateTime now) throws Exception {
+        insert.setObject(1, id);
+        insert.setObject(2, userId);
+        insert.setObject(3, workspaceId);
+        insert.setString(4, ROLES);
+        insert.setObject(5, now);
+        insert.setObject(6, now);
+        insert.setObject(7, now);
+    }
+}
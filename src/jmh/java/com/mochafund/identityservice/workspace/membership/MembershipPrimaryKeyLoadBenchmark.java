@@ -0,0 +1,142 @@
+package com.mochafund.identityservice.workspace.membership;
+
+import com.mochafund.identityservice.common.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the V6 switch from random v4 to time-ordered v7 ids: fills
+ * {@code workspace_memberships} with {@code rows} memberships (10M by default, 1000 workspaces)
+ * and reports the total time. Table and index sizes are printed when the run ends. Rows are
+ * inserted one workspace at a time in chunks of {@code chunkRows}, each in its own transaction,
+ * with ids taken from the column default, so the only difference between runs is the id function.
+ * <p>
+ * Needs a dedicated PostgreSQL (see {@link BenchmarkDatabase}) with a few GB free; use
+ * {@code -p rows=1000000} for a quicker pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class MembershipPrimaryKeyLoadBenchmark {
+
+    private static final int WORKSPACES = 1000;
+
+    private static final String INSERT_CHUNK = """
+            INSERT INTO workspace_memberships (user_id, workspace_id, roles)
+            SELECT u.id, ?, '["READ"]'::jsonb
+            FROM users u
+            ORDER BY u.email
+            OFFSET ? LIMIT ?
+            """;
+
+    private static final String SIZES = """
+            SELECT pg_relation_size('workspace_memberships'),
+                   pg_relation_size('workspace_memberships_pkey'),
+                   pg_relation_size('workspace_memberships_user_id_workspace_id_key'),
+                   pg_indexes_size('workspace_memberships')
+            """;
+
+    @Param({"gen_random_uuid", "uuid_generate_v7"})
+    public String idFunction;
+
+    @Param({"10000000"})
+    public long rows;
+
+    @Param({"100000"})
+    public int chunkRows;
+
+    private BenchmarkDatabase database;
+    private Connection connection;
+    private int usersPerWorkspace;
+    private List<UUID> workspaceIds;
+    private long elapsedNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.migrate("bench_pk_" + idFunction);
+        connection = database.connect(false);
+        usersPerWorkspace = Math.toIntExact(rows / WORKSPACES);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"users", "workspaces", "workspace_memberships"}) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT " + idFunction + "()");
+            }
+            statement.execute("INSERT INTO workspaces (status) SELECT 'ACTIVE' FROM generate_series(1, " + WORKSPACES + ")");
+            statement.execute("""
+                    INSERT INTO users (email, given_name, family_name)
+                    SELECT 'load-' || lpad(n::text, 9, '0') || '@example.com', 'Load', 'User'
+                    FROM generate_series(1, %d) AS n
+                    """.formatted(usersPerWorkspace));
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE workspaces");
+
+            workspaceIds = new ArrayList<>(WORKSPACES);
+            try (ResultSet workspaces = statement.executeQuery("SELECT id FROM workspaces ORDER BY id")) {
+                while (workspaces.next()) workspaceIds.add(workspaces.getObject(1, UUID.class));
+            }
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery(SIZES)) {
+            sizes.next();
+            long inserted = (long) usersPerWorkspace * WORKSPACES;
+            System.out.printf("%n[%s] %,d memberships in %.1fs (%,.0f rows/s)%n", idFunction, inserted,
+                    elapsedNanos / 1e9, inserted / (elapsedNanos / 1e9));
+            System.out.printf("[%s] heap %s, primary key %s, (user_id, workspace_id) %s, all indexes %s%n",
+                    idFunction, mb(sizes.getLong(1)), mb(sizes.getLong(2)), mb(sizes.getLong(3)), mb(sizes.getLong(4)));
+        }
+        connection.rollback();
+        connection.close();
+        database.close();
+    }
+
+    @Benchmark
+    public void insertMemberships() throws Exception {
+        long start = System.nanoTime();
+
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_CHUNK)) {
+            for (UUID workspaceId : workspaceIds) {
+                insert.setObject(1, workspaceId);
+                for (int offset = 0; offset < usersPerWorkspace; offset += chunkRows) {
+                    insert.setInt(2, offset);
+                    insert.setInt(3, Math.min(chunkRows, usersPerWorkspace - offset));
+                    insert.executeUpdate();
+                    connection.commit();
+                }
+            }
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    private static String mb(long bytes) {
+        return String.format("%,d MB", bytes / (1024 * 1024));
+    }
+}
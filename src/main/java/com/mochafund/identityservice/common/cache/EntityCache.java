@@ -0,0 +1,98 @@
+package com.mochafund.identityservice.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mochafund.identityservice.config.CacheConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting read-through cache of entity snapshots by key.
+ * Entries are copied on the way in and out, so cached state is never shared with callers or a
+ * persistence context. Own writes evict immediately and again after commit, and an eviction
+ * waits for an in-flight load of the same key, so a concurrent reader that re-cached
+ * pre-commit state cannot keep it; other nodes evict on our Kafka events,
+ * and the TTL bounds anything that slips through both.
+ */
+public abstract class EntityCache<K, T> {
+
+    private final Cache<K, T> cache;
+    private final Timer stalenessTimer;
+
+    protected EntityCache(String name, CacheConfig.Spec spec, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Share of lookups served from the cache")
+                .register(meterRegistry);
+        this.stalenessTimer = Timer.builder("cache.staleness")
+                .tag("cache", name)
+                .description("Time from a change on another node to its eviction here")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the cached entry, loading it on a miss. The load runs as an atomic
+     * compute, so an eviction of the same key waits for it and removes what it stored; a
+     * reader that loaded pre-commit state cannot put it back after the after-commit eviction.
+     */
+    public Optional<T> get(K id, Function<K, Optional<T>> loader) {
+        T entry = cache.get(id, key -> loader.apply(key).map(this::copy).orElse(null));
+        return Optional.ofNullable(entry).map(this::copy);
+    }
+
+    /**
+     * Evicts an entry changed by this node, now and once the surrounding transaction commits.
+     */
+    public void evict(K id) {
+        evictAll(List.of(id));
+    }
+
+    public void evictAll(Collection<K> ids) {
+        cache.invalidateAll(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        List<K> toEvict = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(toEvict);
+            }
+        });
+    }
+
+    /**
+     * Evicts an entry changed on another node and records how long it was served stale.
+     *
+     * @param changedAt when the change happened, taken from the event envelope
+     */
+    public void evictRemote(K id, LocalDateTime changedAt) {
+        if (cache.asMap().remove(id) != null && changedAt != null) {
+            stalenessTimer.record(Duration.between(changedAt, LocalDateTime.now(ZoneOffset.UTC)));
+        }
+    }
+
+    /**
+     * Detached copy holding only the entity's own columns; lazy associations are not carried over.
+     */
+    protected abstract T copy(T entity);
+}
@@ -0,0 +1,46 @@
+package com.mochafund.identityservice.common.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48-bit Unix millisecond timestamp, version, 12-bit counter, variant and
+ * 62 random bits. The counter makes ids issued by this node strictly increasing, even within
+ * the same millisecond, so new rows land on the right-most leaf of the primary key index.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Last issued (millis << 12 | counter); when the counter overflows it borrows the next millisecond
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long msb = (stamp >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | (stamp & 0xFFFL);
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -10,6 +10,7 @@ import lombok.ToString;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 @Getter
@@ -25,7 +26,7 @@ public class EventEnvelope<T> {
 
     @Builder.Default
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private LocalDateTime occurredAt = LocalDateTime.now();
+    private LocalDateTime occurredAt = LocalDateTime.now(ZoneOffset.UTC);
 
     private UUID correlationId;
     private String type;
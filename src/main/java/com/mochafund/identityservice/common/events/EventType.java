@@ -6,6 +6,7 @@ import lombok.experimental.UtilityClass;
 public class EventType {
     public static final String WORKSPACE_PROVISIONING = "workspace.provisioning";
     public static final String WORKSPACE_CREATED = "workspace.created";
+    public static final String WORKSPACE_ACTIVATED = "workspace.activated";
     public static final String WORKSPACE_DELETED_INITIALIZED = "workspace.deleted.initialized";
 
     public static final String WORKSPACE_MEMBERSHIP_CREATED = "workspace.membership.created";
@@ -0,0 +1,23 @@
+package com.mochafund.identityservice.common.patchable;
+
+import java.util.Set;
+
+/**
+ * Names of the properties whose value a patch actually changed.
+ */
+public record ChangeSet(Set<String> changedFields) {
+
+    public static final ChangeSet EMPTY = new ChangeSet(Set.of());
+
+    public ChangeSet {
+        changedFields = Set.copyOf(changedFields);
+    }
+
+    public boolean isEmpty() {
+        return changedFields.isEmpty();
+    }
+
+    public boolean contains(String field) {
+        return changedFields.contains(field);
+    }
+}
@@ -0,0 +1,142 @@
+package com.mochafund.identityservice.common.patchable;
+
+import com.mochafund.identityservice.common.annotations.PatchableField;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-compiled copy of the {@code @PatchableField} properties from one DTO class onto one entity
+ * class. Introspection happens once per (entity, DTO) pair; applying a plan is a loop over
+ * method handles with no wrappers, descriptors or reflection per call.
+ */
+final class PatchPlan {
+
+    private static final Map<Key, PatchPlan> PLANS = new ConcurrentHashMap<>();
+    private static final Set<String> NEVER_PATCHABLE = Set.of("id", "createdAt", "updatedAt", "version");
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<PropertyCopier> copiers;
+
+    private PatchPlan(List<PropertyCopier> copiers) {
+        this.copiers = copiers;
+    }
+
+    static PatchPlan of(Class<?> entityType, Class<?> dtoType) {
+        return PLANS.computeIfAbsent(new Key(entityType, dtoType), key -> compile(key.entityType(), key.dtoType()));
+    }
+
+    ChangeSet apply(Object dto, Object entity) {
+        Set<String> changed = null;
+        for (PropertyCopier copier : copiers) {
+            if (copier.copy(dto, entity)) {
+                if (changed == null) changed = new HashSet<>();
+                changed.add(copier.name());
+            }
+        }
+        return changed == null ? ChangeSet.EMPTY : new ChangeSet(changed);
+    }
+
+    private static PatchPlan compile(Class<?> entityType, Class<?> dtoType) {
+        Set<String> allowed = resolveAllowedFields(entityType);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<PropertyCopier> copiers = new ArrayList<>();
+
+        for (PropertyDescriptor target : BeanUtils.getPropertyDescriptors(entityType)) {
+            String name = target.getName();
+            if (!allowed.contains(name) || target.getReadMethod() == null || target.getWriteMethod() == null) continue;
+
+            PropertyDescriptor source = BeanUtils.getPropertyDescriptor(dtoType, name);
+            if (source == null || source.getReadMethod() == null) continue;
+
+            try {
+                Class<?> targetType = target.getPropertyType();
+                copiers.add(new PropertyCopier(
+                        name,
+                        lookup.unreflect(source.getReadMethod()).asType(GETTER_TYPE),
+                        lookup.unreflect(target.getReadMethod()).asType(GETTER_TYPE),
+                        lookup.unreflect(target.getWriteMethod()).asType(SETTER_TYPE),
+                        ClassUtils.isAssignable(targetType, source.getPropertyType()) ? null : targetType
+                ));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(String.format(
+                        "Cannot access property %s of %s or %s", name, dtoType.getName(), entityType.getName()), e);
+            }
+        }
+
+        return new PatchPlan(List.copyOf(copiers));
+    }
+
+    private static Set<String> resolveAllowedFields(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!f.isAnnotationPresent(PatchableField.class)) continue;
+
+                // never allow identifiers/audit/version implicitly
+                if (f.isAnnotationPresent(OneToOne.class) ||
+                        f.isAnnotationPresent(OneToMany.class) ||
+                        f.isAnnotationPresent(ManyToOne.class) ||
+                        f.isAnnotationPresent(ManyToMany.class)) {
+                    continue;
+                }
+                String n = f.getName();
+                if (!NEVER_PATCHABLE.contains(n)) {
+                    names.add(n);
+                }
+            }
+        }
+        return names;
+    }
+
+    private record Key(Class<?> entityType, Class<?> dtoType) {
+    }
+
+    /**
+     * Copies one non-null property if it differs from the entity's current value. {@code convertTo}
+     * is set only when the DTO and entity types differ, in which case the value goes through
+     * Spring's conversion service, like the BeanWrapper-based implementation did.
+     */
+    private record PropertyCopier(String name, MethodHandle getter, MethodHandle currentGetter,
+                                  MethodHandle setter, Class<?> convertTo) {
+
+        private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+        boolean copy(Object dto, Object entity) {
+            try {
+                Object value = (Object) getter.invokeExact(dto);
+                if (value == null) return false;
+                if (convertTo != null) {
+                    value = CONVERSION.convert(value, convertTo);
+                }
+                if (Objects.equals(value, (Object) currentGetter.invokeExact(entity))) return false;
+
+                setter.invokeExact(entity, value);
+                return true;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(String.format("Failed to patch property %s", name), e);
+            }
+        }
+    }
+}
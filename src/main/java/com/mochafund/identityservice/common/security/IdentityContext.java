@@ -0,0 +1,123 @@
+package com.mochafund.identityservice.common.security;
+
+import com.mochafund.identityservice.common.exception.BadRequestException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The caller's identity claims, parsed once from the JWT and kept as a request attribute, so
+ * resolvers and services reading them in the same request share one parse. Outside a request
+ * (Kafka listeners, scheduled jobs) it is parsed on each call, as there is nothing to scope it to.
+ * Missing or malformed id claims are only reported when a caller actually requires them.
+ */
+public final class IdentityContext {
+
+    private static final String ATTRIBUTE = IdentityContext.class.getName();
+
+    private final Jwt jwt;
+    private final UuidClaim subject;
+    private final UuidClaim userId;
+    private final UuidClaim workspaceId;
+    private final String preferredUsername;
+    private final Set<String> roles;
+
+    private IdentityContext(Jwt jwt) {
+        this.jwt = jwt;
+        this.subject = UuidClaim.parse("subject", jwt.getSubject());
+        this.userId = UuidClaim.parse("user_id", jwt.getClaimAsString("user_id"));
+        this.workspaceId = UuidClaim.parse("workspace_id", jwt.getClaimAsString("workspace_id"));
+        this.preferredUsername = jwt.getClaimAsString("preferred_username");
+        List<String> roleClaim = jwt.getClaimAsStringList("roles");
+        this.roles = roleClaim != null ? Set.copyOf(roleClaim) : Set.of();
+    }
+
+    /**
+     * Identity of the current caller, or empty if the request is not authenticated with a JWT.
+     */
+    public static Optional<IdentityContext> find() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return Optional.empty();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.of(new IdentityContext(jwt));
+        }
+
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof IdentityContext cached
+                && cached.jwt == jwt) {
+            return Optional.of(cached);
+        }
+
+        IdentityContext context = new IdentityContext(jwt);
+        attributes.setAttribute(ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        return Optional.of(context);
+    }
+
+    /**
+     * The raw {@code sub} claim; Keycloak subjects are UUIDs, but callers that pass it on as-is
+     * should not fail if one is not.
+     */
+    public String subject() {
+        if (subject.raw() == null || subject.raw().isBlank()) {
+            throw new BadRequestException("JWT missing subject claim");
+        }
+        return subject.raw();
+    }
+
+    public UuidClaim subjectId() {
+        return subject;
+    }
+
+    public UuidClaim userId() {
+        return userId;
+    }
+
+    public UuidClaim workspaceId() {
+        return workspaceId;
+    }
+
+    public Optional<String> preferredUsername() {
+        return Optional.ofNullable(preferredUsername).filter(name -> !name.isBlank());
+    }
+
+    public Set<String> roles() {
+        return roles;
+    }
+
+    /**
+     * A UUID-valued claim. {@link #value()} is null when the claim is missing or malformed;
+     * {@link #orThrow()} reports which, with the same messages the resolvers always used.
+     */
+    public record UuidClaim(String name, String raw, UUID value) {
+
+        static UuidClaim parse(String name, String raw) {
+            UUID value = null;
+            if (raw != null && !raw.isBlank()) {
+                try {
+                    value = UUID.fromString(raw);
+                } catch (IllegalArgumentException ignored) {
+                    // reported by orThrow()
+                }
+            }
+            return new UuidClaim(name, raw, value);
+        }
+
+        public UUID orThrow() {
+            if (value != null) return value;
+            if (raw == null || raw.isBlank()) {
+                throw new BadRequestException(String.format("JWT missing %s claim", name));
+            }
+            throw new BadRequestException(String.format("Invalid %s format in JWT", name));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.mochafund.identityservice.common.util;
+
+import com.mochafund.identityservice.common.entity.BaseEntity;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+public class ETagUtil {
+
+    /**
+     * Strong validator for an entity's current version: its id plus {@code updatedAt} to the
+     * microsecond, which every write bumps through auditing or an explicit bulk update.
+     * Timestamps are UTC wall-clock times (see JpaConfig), so every node derives the same value
+     * regardless of its default zone.
+     */
+    public static String strongETag(BaseEntity entity) {
+        return String.format("\"%s-%d\"", entity.getId(), ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(entity)));
+    }
+
+    public static long lastModified(BaseEntity entity) {
+        return entity.getUpdatedAt() != null ? toInstant(entity).toEpochMilli() : -1;
+    }
+
+    private static Instant toInstant(BaseEntity entity) {
+        return entity.getUpdatedAt().toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mochafund.identityservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "entity-cache")
+    public EntityCacheProps entityCacheProps() { return new EntityCacheProps(); }
+
+    @Getter @Setter
+    public static class EntityCacheProps {
+        private Spec users = new Spec();
+        private Spec workspaces = new Spec();
+        private Spec membershipRoles = new Spec();
+    }
+
+    @Getter @Setter
+    public static class Spec {
+        private long maxSize = 10000;
+        private long ttlSeconds = 60;
+    }
+}
@@ -1,9 +1,25 @@
 package com.mochafund.identityservice.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Entity timestamps are UTC wall-clock {@link LocalDateTime}s, matching
+ * {@code hibernate.jdbc.time_zone: UTC}, so every node reads and writes the same values
+ * whatever its default zone.
+ */
 @Configuration
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "utcDateTimeProvider")
 public class JpaConfig {
+
+    @Bean
+    public DateTimeProvider utcDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now(ZoneOffset.UTC));
+    }
 }
@@ -2,29 +2,144 @@ package com.mochafund.identityservice.config;
 
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
+@Slf4j
 @Getter
 @Setter
 @Configuration
 @ConfigurationProperties(prefix = "spring.kafka")
 public class KafkaConfig {
 
+    public static final String DEAD_LETTER_SUFFIX = "-dlt";
+
     private List<String> topics;
 
+    /** Consumer threads per topic; topics not listed use spring.kafka.listener.concurrency. */
+    private Map<String, Integer> topicConcurrency = new HashMap<>();
+
+    /** Run listener consumer threads on virtual threads instead of platform threads. */
+    private boolean virtualThreadListeners = false;
+
+    private DeadLetter deadLetter = new DeadLetter();
+
     @Bean
     public List<NewTopic> kafkaTopics() {
         return topics.stream()
+                .flatMap(topicName -> Stream.of(topicName, topicName + DEAD_LETTER_SUFFIX))
                 .map(topicName -> TopicBuilder.name(topicName)
                         .partitions(3)
                         .replicas(1)
                         .build())
                 .toList();
     }
+
+    /**
+     * Listener factory that hands a whole poll to the listener, for consumers that can
+     * process records as a set. Shares all other settings with the default factory.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    /**
+     * Applied by Boot to every container built from the default or batch factory. Containers of
+     * the service's shared consumer group get the concurrency configured for their topic and
+     * dead-letter through {@link #kafkaErrorHandler}. Other groups, such as the per-node cache
+     * invalidation consumers, keep their own concurrency and only log records that still fail
+     * after the retries, so the DLT is not fed once per node. Virtual consumer threads, if
+     * enabled, apply to all containers.
+     */
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> listenerContainerCustomizer(
+            @Value("${spring.kafka.consumer.group-id}") String serviceGroupId) {
+        return container -> {
+            String[] containerTopics = container.getContainerProperties().getTopics();
+            if (!serviceGroupId.equals(container.getGroupId())) {
+                container.setCommonErrorHandler(new DefaultErrorHandler(
+                        new FixedBackOff(deadLetter.getBackoffMs(), deadLetter.getRetries())));
+            } else if (containerTopics != null) {
+                Arrays.stream(containerTopics)
+                        .map(topicConcurrency::get)
+                        .filter(Objects::nonNull)
+                        .max(Integer::compare)
+                        .ifPresent(container::setConcurrency);
+            }
+
+            if (virtualThreadListeners) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(container.getBeanName() + "-");
+                executor.setVirtualThreads(true);
+                container.getContainerProperties().setListenerTaskExecutor(executor);
+            }
+        };
+    }
+
+    /**
+     * Retries a failed record a few times, then publishes it to {@code <topic>-dlt} on the same
+     * partition and moves on, so a poison message no longer blocks its partition. Records that
+     * could not be deserialized are not retried and are forwarded with their original bytes.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(KafkaTemplate<?, ?> kafkaTemplate, ProducerFactory<?, ?> producerFactory) {
+        KafkaTemplate<String, byte[]> bytesTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new ByteArraySerializer()));
+
+        // Checked in order: raw payloads of deserialization failures first, everything else as JSON
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, bytesTemplate);
+        templates.put(Object.class, kafkaTemplate);
+
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates, (record, ex) -> {
+            log.error("[KafkaConfig] Sending record from {}-{}@{} to dead letter topic: {}",
+                    record.topic(), record.partition(), record.offset(), ex.getMessage());
+            return new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, record.partition());
+        });
+
+        return new DefaultErrorHandler(recoverer,
+                new FixedBackOff(deadLetter.getBackoffMs(), deadLetter.getRetries()));
+    }
+
+    @Getter
+    @Setter
+    public static class DeadLetter {
+        private long backoffMs = 1000;
+        private long retries = 2;
+    }
 }
\ No newline at end of file
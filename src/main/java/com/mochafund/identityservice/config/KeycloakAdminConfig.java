@@ -20,6 +20,22 @@ public class KeycloakAdminConfig {
     @ConfigurationProperties(prefix = "keycloak.admin")
     public Props keycloakAdminProps() { return new Props(); }
 
+    @Bean
+    @ConfigurationProperties(prefix = "keycloak.sync")
+    public SyncProps keycloakSyncProps() { return new SyncProps(); }
+
+    @Bean
+    @ConfigurationProperties(prefix = "keycloak.user-cache")
+    public UserCacheProps keycloakUserCacheProps() { return new UserCacheProps(); }
+
+    @Bean
+    @ConfigurationProperties(prefix = "keycloak.resync")
+    public ResyncProps keycloakResyncProps() { return new ResyncProps(); }
+
+    @Bean
+    @ConfigurationProperties(prefix = "keycloak.contributors")
+    public ContributorProps keycloakContributorProps() { return new ContributorProps(); }
+
     @Bean(destroyMethod = "close")
     public Keycloak keycloak(Props p) {
         Client jaxrs = ClientBuilder.newBuilder()
@@ -42,4 +58,27 @@ public class KeycloakAdminConfig {
         private String baseUrl, realm, clientId, clientSecret;
         private int connectTimeoutMs = 3000, readTimeoutMs = 10000;
     }
+
+    @Getter @Setter
+    public static class SyncProps {
+        private int workers = 4, queueCapacity = 1000;
+        private long awaitTimeoutMs = 10000;
+    }
+
+    @Getter @Setter
+    public static class UserCacheProps {
+        private long maxSize = 10000, ttlSeconds = 300;
+    }
+
+    @Getter @Setter
+    public static class ResyncProps {
+        private int pageSize = 200, parallelism = 8, maxConcurrentJobs = 2;
+        /** Authority required to trigger or inspect realm-wide re-syncs through the actuator. */
+        private String adminAuthority = "identity-admin";
+    }
+
+    @Getter @Setter
+    public static class ContributorProps {
+        private long timeoutMs = 2000;
+    }
 }
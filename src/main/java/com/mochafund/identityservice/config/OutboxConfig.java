@@ -0,0 +1,25 @@
+package com.mochafund.identityservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "outbox.relay")
+    public RelayProps outboxRelayProps() { return new RelayProps(); }
+
+    @Getter @Setter
+    public static class RelayProps {
+        private int batchSize = 100;
+        private long lingerMs = 200, sendTimeoutMs = 10000;
+        /** How long a claimed batch is reserved for its relay; must cover several send timeouts. */
+        private long leaseMs = 60000;
+    }
+}
@@ -1,5 +1,9 @@
 package com.mochafund.identityservice.config;
 
+import com.mochafund.identityservice.workspace.membership.enums.AuthorizationMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -17,11 +21,12 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, KeycloakAdminConfig.ResyncProps resyncProps) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/keycloakresync/**").hasAuthority(resyncProps.getAdminAuthority())
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthConverter()))
@@ -39,4 +44,13 @@ public class SecurityConfig {
         conv.setJwtGrantedAuthoritiesConverter(gac);
         return conv;
     }
+
+    @Bean
+    @ConfigurationProperties(prefix = "authorization")
+    public AuthorizationProps authorizationProps() { return new AuthorizationProps(); }
+
+    @Getter @Setter
+    public static class AuthorizationProps {
+        private AuthorizationMode mode = AuthorizationMode.TOKEN;
+    }
 }
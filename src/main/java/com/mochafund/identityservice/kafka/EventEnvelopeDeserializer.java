@@ -0,0 +1,72 @@
+package com.mochafund.identityservice.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.user.events.UserEventPayload;
+import com.mochafund.identityservice.workspace.events.WorkspaceEventPayload;
+import com.mochafund.identityservice.workspace.membership.events.WorkspaceMembershipEventPayload;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads {@link EventEnvelope}s straight from the record bytes. The payload type is looked up
+ * from the topic name, and each (envelope, payload) reader is built once up front, so no
+ * intermediate String or per-message JavaType is created.
+ */
+public class EventEnvelopeDeserializer implements Deserializer<EventEnvelope<?>> {
+
+    private static final Map<String, Class<?>> PAYLOAD_TYPES = Map.of(
+            EventType.WORKSPACE_PROVISIONING, WorkspaceEventPayload.class,
+            EventType.WORKSPACE_CREATED, WorkspaceEventPayload.class,
+            EventType.WORKSPACE_ACTIVATED, WorkspaceEventPayload.class,
+            EventType.WORKSPACE_DELETED_INITIALIZED, WorkspaceEventPayload.class,
+            EventType.WORKSPACE_MEMBERSHIP_CREATED, WorkspaceMembershipEventPayload.class,
+            EventType.WORKSPACE_MEMBERSHIP_UPDATED, WorkspaceMembershipEventPayload.class,
+            EventType.WORKSPACE_MEMBERSHIP_DELETED, WorkspaceMembershipEventPayload.class,
+            EventType.USER_CREATED, UserEventPayload.class,
+            EventType.USER_UPDATED, UserEventPayload.class,
+            EventType.USER_DELETED, UserEventPayload.class
+    );
+
+    private final Map<String, ObjectReader> readers = new HashMap<>();
+
+    /**
+     * Used when Kafka instantiates the deserializer from configuration. Mirrors the Boot
+     * ObjectMapper defaults the consumers previously relied on.
+     */
+    public EventEnvelopeDeserializer() {
+        this(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build());
+    }
+
+    public EventEnvelopeDeserializer(ObjectMapper objectMapper) {
+        PAYLOAD_TYPES.forEach((topic, payloadType) -> readers.put(topic, objectMapper.readerFor(
+                objectMapper.getTypeFactory().constructParametricType(EventEnvelope.class, payloadType))));
+    }
+
+    @Override
+    public EventEnvelope<?> deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+
+        ObjectReader reader = readers.get(topic);
+        if (reader == null) {
+            throw new SerializationException(String.format("No event payload type registered for topic %s", topic));
+        }
+
+        try {
+            return reader.readValue(data);
+        } catch (IOException e) {
+            throw new SerializationException(String.format("Failed to parse event envelope from topic %s", topic), e);
+        }
+    }
+}
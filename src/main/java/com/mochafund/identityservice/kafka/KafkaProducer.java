@@ -1,20 +1,21 @@
 package com.mochafund.identityservice.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.security.IdentityContext;
+import com.mochafund.identityservice.kafka.key.EventKeyResolver;
+import com.mochafund.identityservice.outbox.entity.OutboxEvent;
+import com.mochafund.identityservice.outbox.repository.IOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -22,13 +23,38 @@ import java.util.UUID;
 public class KafkaProducer {
 
     private static final Logger log = LoggerFactory.getLogger(KafkaProducer.class);
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ApplicationEventPublisher eventPublisher;
+    private final IOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final EventKeyResolver eventKeyResolver;
 
+    /**
+     * Writes the event to the outbox in the caller's transaction, so it is published if and
+     * only if the entity change commits. {@code OutboxRelay} delivers it to Kafka.
+     */
+    @Transactional
     public <T> void send(EventEnvelope<T> event) {
+        OutboxEvent outboxEvent = outboxRepository.save(toOutboxEvent(event));
+        log.info("Stored {} event in outbox for publishing", outboxEvent.getTopic());
+    }
+
+    /**
+     * Same as {@link #send} for a set of events, written to the outbox with one batched insert.
+     */
+    @Transactional
+    public void sendAll(List<? extends EventEnvelope<?>> events) {
+        if (events.isEmpty()) return;
+
+        outboxRepository.saveAll(events.stream().map(this::toOutboxEvent).toList());
+        log.info("Stored {} {} events in outbox for publishing", events.size(), events.getFirst().getType());
+    }
+
+    private <T> OutboxEvent toOutboxEvent(EventEnvelope<T> event) {
         EventEnvelope<T> eventToSend = enrichEvent(event);
-        eventPublisher.publishEvent(eventToSend);
-        log.info("Scheduled {} event for post-commit publishing", eventToSend.getType());
+        return OutboxEvent.builder()
+                .topic(eventToSend.getType())
+                .aggregateKey(eventKeyResolver.resolve(eventToSend))
+                .payload(objectMapper.valueToTree(eventToSend))
+                .build();
     }
 
     private <T> EventEnvelope<T> enrichEvent(EventEnvelope<T> event) {
@@ -47,20 +73,19 @@ public class KafkaProducer {
     }
 
     private String getCurrentActor() {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
-                if (auth instanceof JwtAuthenticationToken jwtAuth) {
-                    Jwt jwt = jwtAuth.getToken();
-                    String email = jwt.getClaimAsString("preferred_username");
-                    if (email != null && !email.isBlank()) {
-                        return email;
-                    }
-                }
-                return auth.getName();
-            }
-        } catch (Exception e) {
-            log.debug("Unable to get current user context: {}", e.getMessage());
+        return IdentityContext.find()
+                .map(identity -> identity.preferredUsername().orElse(identity.subjectId().raw()))
+                .orElseGet(KafkaProducer::getAuthenticatedName);
+    }
+
+    /**
+     * Outside a JWT request (e.g. other authentication types or async work carrying a security
+     * context), the actor is the authenticated principal's name.
+     */
+    private static String getAuthenticatedName() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
+            return auth.getName();
         }
         return "SYSTEM";
     }
@@ -76,10 +101,4 @@ public class KafkaProducer {
         }
         return UUID.randomUUID();
     }
-
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    private void handleEvent(EventEnvelope<?> event) {
-        kafkaTemplate.send(event.getType(), event);
-        log.info("Published {} event to Kafka after transaction commit", event.getType());
-    }
 }
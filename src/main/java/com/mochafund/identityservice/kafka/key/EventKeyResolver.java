@@ -0,0 +1,40 @@
+package com.mochafund.identityservice.kafka.key;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the record key for an event from the {@link EventKeyStrategy} registered for its type.
+ */
+@Slf4j
+@Component
+public class EventKeyResolver {
+
+    private final Map<String, EventKeyStrategy> strategies = new HashMap<>();
+
+    public EventKeyResolver(List<EventKeyStrategy> strategies) {
+        for (EventKeyStrategy strategy : strategies) {
+            for (String type : strategy.eventTypes()) {
+                EventKeyStrategy existing = this.strategies.putIfAbsent(type, strategy);
+                if (existing != null) {
+                    throw new IllegalStateException(String.format("Event type %s is keyed by both %s and %s",
+                            type, existing.getClass().getSimpleName(), strategy.getClass().getSimpleName()));
+                }
+            }
+        }
+    }
+
+    public String resolve(EventEnvelope<?> event) {
+        EventKeyStrategy strategy = strategies.get(event.getType());
+        if (strategy == null) {
+            log.debug("No key strategy for {} events, publishing without key", event.getType());
+            return null;
+        }
+        return strategy.key(event);
+    }
+}
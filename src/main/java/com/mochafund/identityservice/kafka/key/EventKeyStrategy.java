@@ -0,0 +1,24 @@
+package com.mochafund.identityservice.kafka.key;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+
+import java.util.Set;
+
+/**
+ * Chooses the Kafka record key for events of the given types. Events with the same key land
+ * on the same partition, so consumers see them in order even when running concurrently.
+ * Register an implementation as a bean to key additional (or override default) event types.
+ */
+public interface EventKeyStrategy {
+
+    /**
+     * @return the {@link com.mochafund.identityservice.common.events.EventType} values this strategy keys
+     */
+    Set<String> eventTypes();
+
+    /**
+     * @param event the event about to be published
+     * @return the aggregate key, or null to let the producer spread the event across partitions
+     */
+    String key(EventEnvelope<?> event);
+}
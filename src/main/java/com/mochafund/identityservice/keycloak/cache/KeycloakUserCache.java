@@ -0,0 +1,74 @@
+package com.mochafund.identityservice.keycloak.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mochafund.identityservice.config.KeycloakAdminConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, TTL-evicting cache of the last-known Keycloak {@link UserRepresentation} per subject.
+ * Only used to recognise syncs with nothing to push; writes always start from a fresh GET.
+ * Entries are evicted when another node changes the user ({@link #evictUser}); the TTL bounds
+ * how long changes made outside this service (admin console, account self-service) can go
+ * unnoticed. Entries are copied on the way in and out, so callers can mutate what they get back.
+ */
+@Component
+public class KeycloakUserCache {
+
+    private final Cache<String, UserRepresentation> cache;
+    private final Cache<UUID, String> subjects;
+    private final ObjectMapper objectMapper;
+
+    public KeycloakUserCache(KeycloakAdminConfig.UserCacheProps props, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(props.getTtlSeconds()))
+                .recordStats()
+                .build();
+        this.subjects = Caffeine.newBuilder()
+                .maximumSize(props.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(props.getTtlSeconds()))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "keycloak.users");
+    }
+
+    public Optional<UserRepresentation> get(String sub) {
+        return Optional.ofNullable(cache.getIfPresent(sub)).map(this::copy);
+    }
+
+    public void put(String sub, UserRepresentation rep) {
+        cache.put(sub, copy(rep));
+    }
+
+    public void evict(String sub) {
+        cache.invalidate(sub);
+    }
+
+    /**
+     * Records which subject belongs to a user, so {@link #evictUser} can find its entry.
+     */
+    public void bind(UUID userId, String sub) {
+        subjects.put(userId, sub);
+    }
+
+    public void evictUser(UUID userId) {
+        String sub = subjects.getIfPresent(userId);
+        if (sub != null) {
+            cache.invalidate(sub);
+        }
+    }
+
+    private UserRepresentation copy(UserRepresentation rep) {
+        return objectMapper.convertValue(rep, UserRepresentation.class);
+    }
+}
@@ -13,6 +13,8 @@ import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 
 @Slf4j
 @Component
@@ -37,6 +39,18 @@ public class KeycloakUserClient {
         }
     }
 
+    public Optional<UserRepresentation> findUserByEmail(String email) {
+        try {
+            return keycloak.realm(realm).users().searchByEmail(email, true)
+                    .stream()
+                    .findFirst();
+        } catch (ForbiddenException e) {
+            throw new AccessDeniedException("Service account lacks permission (need realm-management: view-users)");
+        } catch (WebApplicationException e) {
+            throw new InternalServerException(String.format("Failed to search Keycloak Users (%s)", e.getResponse().getStatus()));
+        }
+    }
+
     public void updateUser(String sub, UserRepresentation userRepresentation) {
         try {
             var kcUser = keycloak.realm(realm).users().get(sub);
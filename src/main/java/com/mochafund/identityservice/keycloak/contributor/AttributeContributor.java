@@ -1,5 +1,7 @@
 package com.mochafund.identityservice.keycloak.contributor;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +21,21 @@ public interface AttributeContributor {
      * @return map of attribute keys to their values (values can be String, List<String>, or other types)
      */
     Map<String, Object> contribute(UUID userId, Optional<UUID> workspaceId);
+
+    /**
+     * Contributes attributes for many users at once. The default implementation falls back to
+     * one {@link #contribute(UUID, Optional)} call per user; implementations backed by a
+     * datastore should override it to resolve the whole batch in a single query.
+     *
+     * @param userIds the user IDs to contribute attributes for
+     * @param workspaceIds workspace context per user; users without an entry have none
+     * @return attributes per user ID, in the same format as the single-user form
+     */
+    default Map<UUID, Map<String, Object>> contribute(Collection<UUID> userIds, Map<UUID, UUID> workspaceIds) {
+        Map<UUID, Map<String, Object>> contributions = new HashMap<>();
+        for (UUID userId : userIds) {
+            contributions.put(userId, contribute(userId, Optional.ofNullable(workspaceIds.get(userId))));
+        }
+        return contributions;
+    }
 }
@@ -1,17 +1,21 @@
 package com.mochafund.identityservice.keycloak.contributor;
 
 import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.workspace.membership.projection.MembershipRoles;
 import com.mochafund.identityservice.workspace.membership.service.IMembershipService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Contributes membership-related attributes to Keycloak user synchronization.
@@ -31,36 +35,58 @@ public class MembershipAttributeContributor implements AttributeContributor {
 
     @Override
     public Map<String, Object> contribute(UUID userId, Optional<UUID> workspaceId) {
+        Set<Role> roles = workspaceId
+                .flatMap(wsId -> membershipService.findRoles(userId, wsId))
+                .map(MembershipRoles::roles)
+                .orElse(null);
+
+        Map<String, Object> attributes = toAttributes(userId, workspaceId.orElse(null), roles);
+
+        log.debug("[MembershipAttributeContributor] contributed {} attributes for userId={}, workspaceId={}",
+                attributes.size(), userId, workspaceId.orElse(null));
+
+        return attributes;
+    }
+
+    @Override
+    public Map<UUID, Map<String, Object>> contribute(Collection<UUID> userIds, Map<UUID, UUID> workspaceIds) {
+        Map<UUID, MembershipRoles> memberships = membershipService.findRoles(workspaceIds)
+                .stream()
+                .collect(Collectors.toMap(MembershipRoles::userId, Function.identity()));
+
+        Map<UUID, Map<String, Object>> contributions = new HashMap<>();
+        for (UUID userId : userIds) {
+            MembershipRoles membership = memberships.get(userId);
+            contributions.put(userId, toAttributes(
+                    userId, workspaceIds.get(userId), membership != null ? membership.roles() : null));
+        }
+
+        log.debug("[MembershipAttributeContributor] contributed attributes for {} users ({} memberships)",
+                userIds.size(), memberships.size());
+
+        return contributions;
+    }
+
+    private static Map<String, Object> toAttributes(UUID userId, UUID workspaceId, Set<Role> roles) {
         Map<String, Object> attributes = new HashMap<>();
 
         if (userId != null) {
             attributes.put(USER_ID_KEY, userId.toString());
         }
 
-        if (workspaceId.isPresent()) {
-            UUID wsId = workspaceId.get();
-            attributes.put(WORKSPACE_ID_KEY, wsId.toString());
-
-            membershipService.listAllUserMemberships(userId)
-                    .stream()
-                    .filter(m -> m.getWorkspace().getId().equals(wsId))
-                    .findFirst()
-                    .ifPresent(membership -> {
-                        Set<Role> roles = membership.getRoles();
-                        if (roles != null && !roles.isEmpty()) {
-                            List<String> roleList = roles.stream()
-                                    .map(r -> r.name().trim().toUpperCase())
-                                    .filter(s -> !s.isBlank())
-                                    .distinct()
-                                    .sorted()
-                                    .toList();
-                            attributes.put(ROLES_KEY, roleList);
-                        }
-                    });
-        }
+        if (workspaceId != null) {
+            attributes.put(WORKSPACE_ID_KEY, workspaceId.toString());
 
-        log.debug("[MembershipAttributeContributor] contributed {} attributes for userId={}, workspaceId={}",
-                attributes.size(), userId, workspaceId.orElse(null));
+            if (roles != null && !roles.isEmpty()) {
+                List<String> roleList = roles.stream()
+                        .map(r -> r.name().trim().toUpperCase())
+                        .filter(s -> !s.isBlank())
+                        .distinct()
+                        .sorted()
+                        .toList();
+                attributes.put(ROLES_KEY, roleList);
+            }
+        }
 
         return attributes;
     }
@@ -0,0 +1,50 @@
+package com.mochafund.identityservice.keycloak.dto;
+
+import com.mochafund.identityservice.keycloak.enums.ResyncState;
+import com.mochafund.identityservice.keycloak.sync.ResyncProgress;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResyncJobDto {
+    private UUID id;
+    private String scope;
+    private ResyncState state;
+    private long total;
+    private long processed;
+    private long updated;
+    private long failed;
+    /** Up to the first 100 users that failed; all of them are retried by a resume from {@code checkpoint}. */
+    private Set<UUID> failedUserIds;
+    private double usersPerSecond;
+    private Long etaSeconds;
+    /** Pass back as {@code resumeAfter} to continue an interrupted or failed job, retrying its failed users. */
+    private UUID checkpoint;
+
+    public static ResyncJobDto fromProgress(ResyncProgress progress) {
+        return ResyncJobDto.builder()
+                .id(progress.getId())
+                .scope(progress.getScope())
+                .state(progress.getState())
+                .total(progress.getTotal())
+                .processed(progress.getProcessed().get())
+                .updated(progress.getUpdated().get())
+                .failed(progress.getFailed().get())
+                .failedUserIds(Set.copyOf(progress.getFailedUserIds()))
+                .usersPerSecond(progress.usersPerSecond())
+                .etaSeconds(progress.eta().map(Duration::toSeconds).orElse(null))
+                .checkpoint(progress.getCheckpoint())
+                .build();
+    }
+}
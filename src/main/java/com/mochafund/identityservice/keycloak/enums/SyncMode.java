@@ -0,0 +1,5 @@
+package com.mochafund.identityservice.keycloak.enums;
+
+public enum SyncMode {
+    ASYNC, AWAIT
+}
@@ -1,15 +1,21 @@
 package com.mochafund.identityservice.keycloak.service;
 
+import com.mochafund.identityservice.keycloak.enums.SyncMode;
 import com.mochafund.identityservice.user.entity.User;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface IKeycloakAdminService {
     void syncAttributes(String subject, User user);
+    void syncAttributes(String subject, UUID userId, SyncMode mode);
+    boolean pushAttributes(User user, Map<String, List<String>> attributes);
     void logoutAllSessions(UUID subject);
     void deleteUser(UUID subject);
 
-    void syncAttributes(User user);
+    void syncAttributes(UUID userId, SyncMode mode);
+    void awaitPendingSyncs();
     void logoutAllSessions();
     void deleteUser();
 }
@@ -1,32 +1,51 @@
 package com.mochafund.identityservice.keycloak.service;
 
-import com.mochafund.identityservice.common.exception.BadRequestException;
+import com.mochafund.identityservice.common.exception.InternalServerException;
+import com.mochafund.identityservice.common.exception.ResourceNotFoundException;
 import com.mochafund.identityservice.common.exception.UnauthorizedException;
+import com.mochafund.identityservice.common.security.IdentityContext;
+import com.mochafund.identityservice.config.KeycloakAdminConfig;
+import com.mochafund.identityservice.keycloak.cache.KeycloakUserCache;
 import com.mochafund.identityservice.keycloak.client.KeycloakUserClient;
+import com.mochafund.identityservice.keycloak.enums.SyncMode;
+import com.mochafund.identityservice.keycloak.sync.KeycloakSyncQueue;
 import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.user.repository.IUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.representations.idm.UserRepresentation;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KeycloakAdminService implements IKeycloakAdminService {
 
+    private static final String PENDING_SYNCS_ATTRIBUTE = KeycloakAdminService.class.getName() + ".PENDING_SYNCS";
+
     private final KeycloakUserClient keycloakUserClient;
     private final KeycloakAttributeAggregator attributeAggregator;
+    private final KeycloakSyncQueue syncQueue;
+    private final IUserRepository userRepository;
+    private final KeycloakAdminConfig.SyncProps syncProps;
+    private final KeycloakUserCache userCache;
 
     @Override
     public void syncAttributes(String sub, User user) {
@@ -36,8 +55,67 @@ public class KeycloakAdminService implements IKeycloakAdminService {
                 Optional.ofNullable(user.getLastWorkspaceId())
         );
 
-        // Get current user representation from Keycloak
+        userCache.bind(user.getId(), sub);
+
+        // The cached copy may only prove there is nothing to do; it is never written back, as
+        // it can miss changes made since (account disabled, attributes set by Keycloak)
+        Optional<UserRepresentation> cached = userCache.get(sub);
+        if (cached.isPresent() && !applyChanges(sub, user, cached.get(), desired)) {
+            log.debug("[Keycloak] No changes for sub={}, skipping update", sub);
+            return;
+        }
+
+        UserRepresentation rep = fetchUser(sub);
+        if (!applyChanges(sub, user, rep, desired)) {
+            log.debug("[Keycloak] No changes for sub={}, skipping update", sub);
+            return;
+        }
+
+        try {
+            persist(sub, rep);
+        } catch (RuntimeException e) {
+            userCache.evict(sub);
+            throw e;
+        }
+    }
+
+    /**
+     * Pushes precomputed attributes for a user whose subject is not known, e.g. from a bulk
+     * re-sync. The Keycloak user is located by email. Returns true if Keycloak was updated.
+     */
+    @Override
+    public boolean pushAttributes(User user, Map<String, List<String>> desired) {
+        UserRepresentation rep = keycloakUserClient.findUserByEmail(user.getEmail())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format("Keycloak user not found for email: %s", user.getEmail())));
+        String sub = rep.getId();
+        userCache.bind(user.getId(), sub);
+        userCache.put(sub, rep);
+
+        if (!applyChanges(sub, user, rep, desired)) {
+            return false;
+        }
+        persist(sub, rep);
+        return true;
+    }
+
+    private UserRepresentation fetchUser(String sub) {
         UserRepresentation rep = keycloakUserClient.getUser(sub);
+        userCache.put(sub, rep);
+        return rep;
+    }
+
+    private void persist(String sub, UserRepresentation rep) {
+        log.info("[Keycloak] Persisting updates for sub={}", sub);
+        keycloakUserClient.updateUser(sub, rep);
+        userCache.put(sub, rep);
+    }
+
+    /**
+     * Applies the user's profile fields and desired attributes to the representation.
+     * Returns true if anything differed from what Keycloak has.
+     */
+    private boolean applyChanges(String sub, User user, UserRepresentation rep, Map<String, List<String>> desired) {
         boolean changed = false;
 
         String userEmail = user.getEmail();
@@ -61,6 +139,7 @@ public class KeycloakAdminService implements IKeycloakAdminService {
         if (userFamilyName != null && !userFamilyName.isBlank() && !userFamilyName.equalsIgnoreCase(kcFamilyName)) {
             log.info("[Keycloak] Updating familyName for sub={} from '{}' to '{}'", sub, kcFamilyName, userFamilyName);
             rep.setLastName(userFamilyName);
+            changed = true;
         }
 
         // Update attributes if needed
@@ -68,14 +147,100 @@ public class KeycloakAdminService implements IKeycloakAdminService {
             changed = true;
         }
 
-        if (changed) {
-            log.info("[Keycloak] Persisting updates for sub={}", sub);
-            keycloakUserClient.updateUser(sub, rep);
-        } else {
-            log.debug("[Keycloak] No changes for sub={}, skipping update", sub);
+        return changed;
+    }
+
+    /**
+     * Queues a sync for the given user once the surrounding transaction commits. The user is
+     * re-read when the sync runs, so it always pushes committed state. With
+     * {@link SyncMode#AWAIT} inside a web request the sync is only recorded here and the
+     * caller waits for it in {@link #awaitPendingSyncs()}, after its transaction has ended
+     * and its connection is back in the pool; outside a request it is awaited right after
+     * commit.
+     */
+    @Override
+    public void syncAttributes(String sub, UUID userId, SyncMode mode) {
+        runAfterCommit(() -> {
+            CompletableFuture<Void> sync = syncQueue.enqueue(sub, () -> syncAttributes(sub, loadUser(userId)));
+            if (mode == SyncMode.AWAIT) {
+                deferAwait(sub, sync);
+            }
+        });
+    }
+
+    /**
+     * Waits for the {@link SyncMode#AWAIT} syncs queued during the current request. Called by
+     * controllers once the transactional service call has returned; never call it inside a
+     * transaction.
+     */
+    @Override
+    public void awaitPendingSyncs() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) return;
+
+        @SuppressWarnings("unchecked")
+        Map<String, CompletableFuture<Void>> syncs = (Map<String, CompletableFuture<Void>>)
+                request.getAttribute(PENDING_SYNCS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (syncs == null) return;
+
+        request.removeAttribute(PENDING_SYNCS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        syncs.forEach(this::awaitSync);
+    }
+
+    private void deferAwait(String sub, CompletableFuture<Void> sync) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            awaitSync(sub, sync);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, CompletableFuture<Void>> syncs = (Map<String, CompletableFuture<Void>>)
+                request.getAttribute(PENDING_SYNCS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (syncs == null) {
+            syncs = new LinkedHashMap<>();
+            request.setAttribute(PENDING_SYNCS_ATTRIBUTE, syncs, RequestAttributes.SCOPE_REQUEST);
+        }
+        // A later sync of the same subject also covers the earlier one
+        syncs.put(sub, sync);
+    }
+
+    private User loadUser(UUID userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private void awaitSync(String sub, CompletableFuture<Void> sync) {
+        try {
+            sync.get(syncProps.getAwaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("[Keycloak] Timed out after {}ms waiting for sync of sub={}", syncProps.getAwaitTimeoutMs(), sub);
+            throw new InternalServerException("Timed out waiting for Keycloak sync");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new InternalServerException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("Interrupted waiting for Keycloak sync");
         }
     }
 
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * Updates the attributes on the given user representation. Returns true if any changes were made.
      */
@@ -134,13 +299,14 @@ public class KeycloakAdminService implements IKeycloakAdminService {
     public void deleteUser(UUID subject) {
         String sub = subject.toString();
         keycloakUserClient.delete(sub);
+        userCache.evict(sub);
         log.debug("Deleted user {}", sub);
     }
 
     @Override
-    public void syncAttributes(User user) {
+    public void syncAttributes(UUID userId, SyncMode mode) {
         String subject = getCurrentSubject();
-        syncAttributes(subject, user);
+        syncAttributes(subject, userId, mode);
     }
 
     @Override
@@ -156,26 +322,15 @@ public class KeycloakAdminService implements IKeycloakAdminService {
     }
 
     private String getCurrentSubject() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
-            throw new UnauthorizedException("No JWT token found in security context");
-        }
-
-        String subject = jwt.getSubject();
-
-        if (subject == null || subject.isBlank()) {
-            throw new BadRequestException("JWT missing subject claim");
-        }
-
-        return subject;
+        return currentIdentity().subject();
     }
 
     private UUID getCurrentSubjectAsUUID() {
-        String subject = getCurrentSubject();
-        try {
-            return UUID.fromString(subject);
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Invalid subject format in JWT");
-        }
+        return currentIdentity().subjectId().orThrow();
+    }
+
+    private static IdentityContext currentIdentity() {
+        return IdentityContext.find()
+                .orElseThrow(() -> new UnauthorizedException("No JWT token found in security context"));
     }
 }
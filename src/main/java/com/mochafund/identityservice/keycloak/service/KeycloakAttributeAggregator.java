@@ -1,28 +1,68 @@
 package com.mochafund.identityservice.keycloak.service;
 
+import com.mochafund.identityservice.config.KeycloakAdminConfig;
 import com.mochafund.identityservice.keycloak.contributor.AttributeContributor;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Aggregates user attributes from all registered AttributeContributor beans.
- * Collects contributions from each contributor and merges them into a single
- * attribute map for Keycloak synchronization.
+ * Contributors run concurrently on virtual threads, each with its own deadline; a contributor
+ * that fails or times out is left out of the result rather than stalling the whole sync.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KeycloakAttributeAggregator {
 
     private final List<AttributeContributor> contributors;
+    private final KeycloakAdminConfig.ContributorProps props;
+
+    // Meters per contributor instance, registered once rather than looked up on every call
+    private final Map<AttributeContributor, Timer> latencyTimers = new IdentityHashMap<>();
+    private final Map<AttributeContributor, Counter> timeoutCounters = new IdentityHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public KeycloakAttributeAggregator(List<AttributeContributor> contributors,
+                                       KeycloakAdminConfig.ContributorProps props,
+                                       MeterRegistry meterRegistry) {
+        this.contributors = contributors;
+        this.props = props;
+
+        for (AttributeContributor contributor : contributors) {
+            String name = contributor.getClass().getSimpleName();
+            latencyTimers.put(contributor, Timer.builder("keycloak.contributor.latency")
+                    .description("Time spent in a single attribute contributor")
+                    .tag("contributor", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            timeoutCounters.put(contributor, Counter.builder("keycloak.contributor.timeouts")
+                    .description("Contributors that missed their deadline, yielding a partial result")
+                    .tag("contributor", name)
+                    .register(meterRegistry));
+        }
+    }
 
     /**
      * Aggregates attributes for the given user and workspace context from all contributors.
@@ -35,34 +75,9 @@ public class KeycloakAttributeAggregator {
     public Map<String, List<String>> aggregateAttributes(UUID userId, Optional<UUID> workspaceId) {
         Map<String, List<String>> aggregated = new HashMap<>();
 
-        for (AttributeContributor contributor : contributors) {
-            try {
-                Map<String, Object> contribution = contributor.contribute(userId, workspaceId);
-                if (contribution != null) {
-                    for (Map.Entry<String, Object> entry : contribution.entrySet()) {
-                        String key = entry.getKey();
-                        Object value = entry.getValue();
-
-                        if (key != null && value != null) {
-                            if (aggregated.containsKey(key)) {
-                                log.warn("[KeycloakAttributeAggregator] Attribute key '{}' provided by multiple contributors for userId={}. " +
-                                        "Using contribution from {}, ignoring duplicate.",
-                                        key, userId, contributor.getClass().getSimpleName());
-                            } else {
-                                // Convert value to List<String> format expected by Keycloak API
-                                List<String> keycloakValue = convertToKeycloakFormat(value);
-                                if (!keycloakValue.isEmpty()) {
-                                    aggregated.put(key, keycloakValue);
-                                }
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.error("[KeycloakAttributeAggregator] Error collecting attributes from contributor {} for userId={}: {}",
-                        contributor.getClass().getSimpleName(), userId, e.getMessage(), e);
-                // Continue with other contributors even if one fails
-            }
+        List<Map<String, Object>> contributions = collect(c -> c.contribute(userId, workspaceId), "userId=" + userId);
+        for (int i = 0; i < contributors.size(); i++) {
+            merge(aggregated, contributions.get(i), contributors.get(i), userId);
         }
 
         log.debug("[KeycloakAttributeAggregator] Aggregated {} attributes from {} contributors for userId={}, workspaceId={}",
@@ -71,6 +86,101 @@ public class KeycloakAttributeAggregator {
         return aggregated;
     }
 
+    /**
+     * Batch form of {@link #aggregateAttributes(UUID, Optional)}. Each contributor is asked once
+     * for the whole batch, so datastore-backed contributors can resolve it in a single query.
+     *
+     * @param userIds the user IDs to collect attributes for
+     * @param workspaceIds workspace context per user; users without an entry have none
+     * @return merged attributes in Keycloak format per user ID
+     */
+    public Map<UUID, Map<String, List<String>>> aggregateAttributes(Collection<UUID> userIds, Map<UUID, UUID> workspaceIds) {
+        Map<UUID, Map<String, List<String>>> aggregated = new HashMap<>();
+        userIds.forEach(userId -> aggregated.put(userId, new HashMap<>()));
+
+        List<Map<UUID, Map<String, Object>>> contributions =
+                collect(c -> c.contribute(userIds, workspaceIds), userIds.size() + " users");
+        for (int i = 0; i < contributors.size(); i++) {
+            Map<UUID, Map<String, Object>> contribution = contributions.get(i);
+            if (contribution == null) continue;
+
+            for (UUID userId : userIds) {
+                merge(aggregated.get(userId), contribution.get(userId), contributors.get(i), userId);
+            }
+        }
+
+        log.debug("[KeycloakAttributeAggregator] Aggregated attributes from {} contributors for {} users",
+                contributors.size(), userIds.size());
+
+        return aggregated;
+    }
+
+    /**
+     * Runs every contributor concurrently and returns their results in registration order, so
+     * duplicate keys keep resolving to the first contributor. Failed or timed-out contributors
+     * yield null. A timed-out contributor keeps running in the background until it returns.
+     */
+    private <T> List<T> collect(Function<AttributeContributor, T> call, String context) {
+        List<CompletableFuture<T>> futures = contributors.stream()
+                .map(contributor -> CompletableFuture
+                        .supplyAsync(() -> timed(contributor, () -> call.apply(contributor)), executor)
+                        .orTimeout(props.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .exceptionally(e -> {
+                            handleFailure(contributor, e, context);
+                            return null;
+                        }))
+                .toList();
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private <T> T timed(AttributeContributor contributor, Supplier<T> call) {
+        return latencyTimers.get(contributor).record(call);
+    }
+
+    private void handleFailure(AttributeContributor contributor, Throwable e, String context) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        String name = contributor.getClass().getSimpleName();
+
+        if (cause instanceof TimeoutException) {
+            timeoutCounters.get(contributor).increment();
+            log.warn("[KeycloakAttributeAggregator] Contributor {} timed out after {}ms for {}, continuing with partial attributes",
+                    name, props.getTimeoutMs(), context);
+        } else {
+            log.error("[KeycloakAttributeAggregator] Error collecting attributes from contributor {} for {}: {}",
+                    name, context, cause.getMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void merge(Map<String, List<String>> aggregated, Map<String, Object> contribution,
+                       AttributeContributor contributor, UUID userId) {
+        if (contribution == null) return;
+
+        for (Map.Entry<String, Object> entry : contribution.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+
+            if (key != null && value != null) {
+                if (aggregated.containsKey(key)) {
+                    log.warn("[KeycloakAttributeAggregator] Attribute key '{}' provided by multiple contributors for userId={}. " +
+                            "Using contribution from {}, ignoring duplicate.",
+                            key, userId, contributor.getClass().getSimpleName());
+                } else {
+                    // Convert value to List<String> format expected by Keycloak API
+                    List<String> keycloakValue = convertToKeycloakFormat(value);
+                    if (!keycloakValue.isEmpty()) {
+                        aggregated.put(key, keycloakValue);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Converts contributor values to the List<String> format required by Keycloak Java client.
      */
@@ -0,0 +1,35 @@
+package com.mochafund.identityservice.keycloak.sync;
+
+import com.mochafund.identityservice.keycloak.dto.ResyncJobDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Operator trigger for realm-wide re-syncs: {@code POST /actuator/keycloakresync} starts one,
+ * optionally resuming after a checkpoint, and {@code GET /actuator/keycloakresync/{jobId}}
+ * reports its progress. Access requires the configured admin authority.
+ */
+@Component
+@Endpoint(id = "keycloakresync")
+@RequiredArgsConstructor
+public class KeycloakResyncEndpoint {
+
+    private final KeycloakResyncJob keycloakResyncJob;
+
+    @WriteOperation
+    public ResyncJobDto resyncRealm(@Nullable UUID resumeAfter) {
+        return ResyncJobDto.fromProgress(keycloakResyncJob.resyncRealm(resumeAfter));
+    }
+
+    @ReadOperation
+    public ResyncJobDto job(@Selector UUID jobId) {
+        return keycloakResyncJob.findJob(jobId).map(ResyncJobDto::fromProgress).orElse(null);
+    }
+}
@@ -0,0 +1,234 @@
+package com.mochafund.identityservice.keycloak.sync;
+
+import com.mochafund.identityservice.config.KeycloakAdminConfig;
+import com.mochafund.identityservice.keycloak.enums.ResyncState;
+import com.mochafund.identityservice.keycloak.service.IKeycloakAdminService;
+import com.mochafund.identityservice.keycloak.service.KeycloakAttributeAggregator;
+import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.user.repository.IUserRepository;
+import com.mochafund.identityservice.workspace.membership.repository.IMembershipRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Re-syncs Keycloak attributes for every member of a workspace, or for every user in the realm.
+ * Users are streamed in keyset-paginated pages ordered by id, pushed to Keycloak with bounded
+ * parallelism, and the checkpoint only advances once a whole page has been pushed. A user that
+ * fails does not stop the run, but the checkpoint stays just before the first one and the job
+ * ends {@code FAILED}, so resuming retries every failed user.
+ * <p>
+ * Each scope has at most one job queued or running; a trigger for an active scope returns that
+ * job and, unless it is a resume, schedules one fresh run after it so later changes are not
+ * missed. At most {@code maxConcurrentJobs} jobs run at once, the rest wait in line. Recent
+ * jobs can be looked up by id to read their state and checkpoint.
+ */
+@Slf4j
+@Component
+public class KeycloakResyncJob {
+
+    // Lowest value in Postgres' uuid ordering, used as the cursor for the first page
+    private static final UUID FIRST_PAGE = new UUID(0L, 0L);
+    private static final int RETAINED_JOBS = 100;
+
+    private final IUserRepository userRepository;
+    private final IMembershipRepository membershipRepository;
+    private final KeycloakAttributeAggregator attributeAggregator;
+    private final IKeycloakAdminService keycloakAdminService;
+    private final KeycloakAdminConfig.ResyncProps props;
+
+    private final ExecutorService jobExecutor;
+    private final Map<String, ResyncProgress> activeJobs = new ConcurrentHashMap<>();
+    private final Set<String> rerunRequested = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, ResyncProgress> recentJobs = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, ResyncProgress> eldest) {
+                    return size() > RETAINED_JOBS;
+                }
+            });
+
+    public KeycloakResyncJob(IUserRepository userRepository, IMembershipRepository membershipRepository,
+                             KeycloakAttributeAggregator attributeAggregator,
+                             IKeycloakAdminService keycloakAdminService, KeycloakAdminConfig.ResyncProps props) {
+        this.userRepository = userRepository;
+        this.membershipRepository = membershipRepository;
+        this.attributeAggregator = attributeAggregator;
+        this.keycloakAdminService = keycloakAdminService;
+        this.props = props;
+        this.jobExecutor = Executors.newFixedThreadPool(props.getMaxConcurrentJobs(),
+                Thread.ofPlatform().name("keycloak-resync-job-", 0).daemon(true).factory());
+    }
+
+    public ResyncProgress resyncWorkspace(UUID workspaceId, UUID resumeAfter) {
+        return submit(new JobSpec("workspace:" + workspaceId,
+                () -> membershipRepository.countByWorkspace_Id(workspaceId),
+                after -> userRepository.findWorkspaceMembersAfter(workspaceId, after, Limit.of(props.getPageSize()))),
+                resumeAfter);
+    }
+
+    public ResyncProgress resyncRealm(UUID resumeAfter) {
+        return submit(new JobSpec("realm",
+                userRepository::count,
+                after -> userRepository.findAllByIdGreaterThanOrderByIdAsc(after, Limit.of(props.getPageSize()))),
+                resumeAfter);
+    }
+
+    public Optional<ResyncProgress> findJob(UUID jobId) {
+        return Optional.ofNullable(recentJobs.get(jobId));
+    }
+
+    private ResyncProgress submit(JobSpec spec, UUID resumeAfter) {
+        ResyncProgress created = new ResyncProgress(spec.scope(), resumeAfter);
+        ResyncProgress job = activeJobs.compute(spec.scope(), (scope, active) -> {
+            if (active == null) return created;
+            // Pages the active job already pushed would miss this change, so run once more after it
+            if (resumeAfter == null) rerunRequested.add(scope);
+            return active;
+        });
+
+        if (job == created) {
+            schedule(spec, created);
+        } else {
+            log.info("[KeycloakResyncJob] Re-sync of {} already active, returning job {}", spec.scope(), job.getId());
+        }
+        return job;
+    }
+
+    private void schedule(JobSpec spec, ResyncProgress progress) {
+        recentJobs.put(progress.getId(), progress);
+        log.info("[KeycloakResyncJob] Queued re-sync {}", progress);
+        jobExecutor.execute(() -> run(spec, progress));
+    }
+
+    private void run(JobSpec spec, ResyncProgress progress) {
+        try {
+            progress.finish(resync(spec, progress));
+        } catch (RuntimeException e) {
+            progress.finish(ResyncState.FAILED);
+            log.error("[KeycloakResyncJob] Re-sync failed, resume with checkpoint: {}", progress, e);
+        } finally {
+            // Same lock as submit(), so a trigger is either merged into a rerun or starts its own job
+            ResyncProgress rerun = new ResyncProgress(spec.scope(), null);
+            ResyncProgress next = activeJobs.compute(spec.scope(),
+                    (scope, active) -> rerunRequested.remove(scope) ? rerun : null);
+            if (next != null) {
+                schedule(spec, next);
+            }
+        }
+    }
+
+    private ResyncState resync(JobSpec spec, ResyncProgress progress) {
+        progress.start(spec.counter().getAsLong());
+        log.info("[KeycloakResyncJob] Starting re-sync {}", progress);
+
+        int parallelism = props.getParallelism();
+        Semaphore permits = new Semaphore(parallelism);
+        UUID cursor = Optional.ofNullable(progress.getCheckpoint()).orElse(FIRST_PAGE);
+        boolean checkpointHeld = false;
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("keycloak-resync-", 0).daemon(true).factory())) {
+            List<User> page;
+            while (!(page = spec.pageLoader().apply(cursor)).isEmpty()) {
+                Map<UUID, Map<String, List<String>>> desired = aggregatePage(page);
+                Set<UUID> pageFailures = ConcurrentHashMap.newKeySet();
+
+                for (User user : page) {
+                    // Backpressure: never more than `parallelism` Keycloak calls in flight
+                    permits.acquire();
+                    workers.execute(() -> {
+                        try {
+                            if (!resyncUser(user, desired.get(user.getId()), progress)) {
+                                pageFailures.add(user.getId());
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+
+                // Drain the page before moving the checkpoint past it
+                permits.acquire(parallelism);
+                permits.release(parallelism);
+
+                if (!checkpointHeld) {
+                    // Past the first failed user the checkpoint no longer moves, so a resume retries it
+                    UUID safe = progress.getCheckpoint();
+                    for (User user : page) {
+                        if (pageFailures.contains(user.getId())) {
+                            checkpointHeld = true;
+                            break;
+                        }
+                        safe = user.getId();
+                    }
+                    progress.checkpoint(safe);
+                }
+                cursor = page.getLast().getId();
+                log.info("[KeycloakResyncJob] {}", progress);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[KeycloakResyncJob] Interrupted, resume with checkpoint: {}", progress);
+            return ResyncState.INTERRUPTED;
+        }
+
+        if (progress.getFailed().get() > 0) {
+            log.warn("[KeycloakResyncJob] Finished re-sync with failures, resume with checkpoint: {}", progress);
+            return ResyncState.FAILED;
+        }
+        log.info("[KeycloakResyncJob] Finished re-sync {}", progress);
+        return ResyncState.COMPLETED;
+    }
+
+    private Map<UUID, Map<String, List<String>>> aggregatePage(List<User> page) {
+        Map<UUID, UUID> workspaceIds = new HashMap<>();
+        for (User user : page) {
+            if (user.getLastWorkspaceId() != null) {
+                workspaceIds.put(user.getId(), user.getLastWorkspaceId());
+            }
+        }
+        return attributeAggregator.aggregateAttributes(page.stream().map(User::getId).toList(), workspaceIds);
+    }
+
+    /**
+     * Pushes one user, returning false if it failed.
+     */
+    private boolean resyncUser(User user, Map<String, List<String>> desired, ResyncProgress progress) {
+        try {
+            if (keycloakAdminService.pushAttributes(user, desired)) {
+                progress.recordUpdated();
+            } else {
+                progress.recordUnchanged();
+            }
+            return true;
+        } catch (Exception e) {
+            progress.recordFailed(user.getId());
+            log.warn("[KeycloakResyncJob] Failed to re-sync userId={}: {}", user.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private record JobSpec(String scope, LongSupplier counter, Function<UUID, List<User>> pageLoader) {}
+}
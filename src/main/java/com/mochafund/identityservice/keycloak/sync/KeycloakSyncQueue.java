@@ -0,0 +1,160 @@
+package com.mochafund.identityservice.keycloak.sync;
+
+import com.mochafund.identityservice.common.exception.InternalServerException;
+import com.mochafund.identityservice.config.KeycloakAdminConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing work queue for Keycloak attribute syncs.
+ * Intents are keyed by subject, so repeated requests for the same user collapse into a
+ * single Keycloak write, and at most one sync per subject is in flight at any time.
+ */
+@Slf4j
+@Component
+public class KeycloakSyncQueue {
+
+    private final Map<String, PendingSync> pending = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    private final Timer enqueueToSyncTimer;
+    private final Counter coalescedCounter;
+    private final Counter failedCounter;
+
+    public KeycloakSyncQueue(KeycloakAdminConfig.SyncProps props, MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(
+                props.getWorkers(), props.getWorkers(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(props.getQueueCapacity()),
+                Thread.ofPlatform().name("keycloak-sync-", 0).daemon(true).factory(),
+                // Never run a sync on the enqueuing thread: it may still hold a DB connection
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("keycloak.sync.queue.depth", pending, Map::size)
+                .description("Subjects waiting for a Keycloak attribute sync")
+                .register(meterRegistry);
+        this.enqueueToSyncTimer = Timer.builder("keycloak.sync.latency")
+                .description("Time from enqueue to completed Keycloak sync")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("keycloak.sync.coalesced")
+                .description("Sync intents merged into an already pending sync")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("keycloak.sync.failed")
+                .description("Keycloak syncs that completed with an error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enqueues a sync for the given subject. If a sync for the subject is already pending,
+     * the task replaces the pending one and both callers share the same completion future.
+     *
+     * @param subject the Keycloak subject the sync targets
+     * @param task the sync to run; it should read the latest state when it executes
+     * @return future completed once a sync that started after this call has finished
+     */
+    public CompletableFuture<Void> enqueue(String subject, Runnable task) {
+        boolean[] created = {false};
+        PendingSync sync = pending.compute(subject, (key, existing) -> {
+            if (existing != null) {
+                existing.task = task;
+                coalescedCounter.increment();
+                return existing;
+            }
+            created[0] = true;
+            return new PendingSync(task, System.nanoTime());
+        });
+
+        if (created[0]) {
+            schedule(subject);
+        } else {
+            log.debug("[KeycloakSyncQueue] Coalesced sync for sub={}", subject);
+        }
+        return sync.future;
+    }
+
+    private void schedule(String subject) {
+        try {
+            executor.execute(() -> drain(subject));
+        } catch (RejectedExecutionException e) {
+            // Backpressure: fail the intent rather than block or run it on the caller
+            PendingSync rejected = pending.remove(subject);
+            if (rejected != null) {
+                failedCounter.increment();
+                log.warn("[KeycloakSyncQueue] Queue full, dropping sync for sub={}", subject);
+                rejected.future.completeExceptionally(new InternalServerException("Keycloak sync queue is full"));
+            }
+        }
+    }
+
+    private void drain(String subject) {
+        // Another worker is syncing this subject; it re-schedules once it is done
+        if (!inFlight.add(subject)) return;
+
+        try {
+            PendingSync sync = pending.remove(subject);
+            if (sync == null) return;
+
+            try {
+                sync.task.run();
+                sync.future.complete(null);
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("[KeycloakSyncQueue] Sync failed for sub={}: {}", subject, e.getMessage(), e);
+                sync.future.completeExceptionally(e);
+            } finally {
+                enqueueToSyncTimer.record(System.nanoTime() - sync.enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            inFlight.remove(subject);
+            if (pending.containsKey(subject)) {
+                rescheduleFromWorker(subject);
+            }
+        }
+    }
+
+    private void rescheduleFromWorker(String subject) {
+        try {
+            executor.execute(() -> drain(subject));
+        } catch (RejectedExecutionException e) {
+            // Already on a worker with no connection held, so drain the follow-up here
+            drain(subject);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("[KeycloakSyncQueue] {} syncs still pending at shutdown", pending.size());
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class PendingSync {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final long enqueuedAt;
+        private volatile Runnable task;
+
+        private PendingSync(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
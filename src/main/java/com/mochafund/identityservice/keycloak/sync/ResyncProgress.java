@@ -0,0 +1,98 @@
+package com.mochafund.identityservice.keycloak.sync;
+
+import com.mochafund.identityservice.keycloak.enums.ResyncState;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of a bulk re-sync job. The checkpoint is the id of the last user before which
+ * every user was pushed: the end of the last fully processed page, or the user just before the
+ * first failure. Passing it back as {@code resumeAfter} continues the run from there.
+ */
+@Getter
+public class ResyncProgress {
+
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final UUID id = UUID.randomUUID();
+    private final String scope;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // The first few failed users, for the job status; the full count is in `failed`
+    private final Set<UUID> failedUserIds = ConcurrentHashMap.newKeySet();
+    private volatile long total;
+    private volatile long startedAtNanos;
+    private volatile ResyncState state = ResyncState.QUEUED;
+    private volatile UUID checkpoint;
+
+    public ResyncProgress(String scope, UUID resumeAfter) {
+        this.scope = scope;
+        this.checkpoint = resumeAfter;
+    }
+
+    void recordUpdated() {
+        processed.incrementAndGet();
+        updated.incrementAndGet();
+    }
+
+    void recordUnchanged() {
+        processed.incrementAndGet();
+    }
+
+    void recordFailed(UUID userId) {
+        processed.incrementAndGet();
+        if (failed.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+            failedUserIds.add(userId);
+        }
+    }
+
+    void checkpoint(UUID lastUserId) {
+        this.checkpoint = lastUserId;
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.startedAtNanos = System.nanoTime();
+        this.state = ResyncState.RUNNING;
+    }
+
+    void finish(ResyncState state) {
+        this.state = state;
+    }
+
+    public boolean isActive() {
+        return state == ResyncState.QUEUED || state == ResyncState.RUNNING;
+    }
+
+    public double usersPerSecond() {
+        if (state == ResyncState.QUEUED) return 0;
+        double seconds = (System.nanoTime() - startedAtNanos) / 1_000_000_000d;
+        return seconds <= 0 ? 0 : processed.get() / seconds;
+    }
+
+    /**
+     * Estimated time left, based on the throughput so far. Empty until there is a rate to
+     * extrapolate from. When resuming, {@code total} still counts the users already done in
+     * a previous run, so the estimate is an upper bound.
+     */
+    public Optional<Duration> eta() {
+        double rate = usersPerSecond();
+        if (rate <= 0) return Optional.empty();
+        long remaining = Math.max(0, total - processed.get());
+        return Optional.of(Duration.ofMillis((long) (remaining / rate * 1000)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("id=%s scope=%s state=%s processed=%d/%d updated=%d failed=%d rate=%.1f users/sec eta=%s checkpoint=%s",
+                id, scope, state, processed.get(), total, updated.get(), failed.get(), usersPerSecond(),
+                eta().map(d -> d.toSeconds() + "s").orElse("n/a"), checkpoint);
+    }
+}
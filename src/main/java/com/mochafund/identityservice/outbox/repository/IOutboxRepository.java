@@ -0,0 +1,46 @@
+package com.mochafund.identityservice.outbox.repository;
+
+import com.mochafund.identityservice.outbox.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface IOutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Transaction-scoped advisory lock that serializes claims across nodes. It is only held
+     * for the claim itself; the lease written by {@link #claimNextBatch} covers the send.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Leases the oldest events, in commit order ({@code relay_seq}), to {@code owner} and
+     * returns them, unless another relay still holds a live lease, in which case nothing is
+     * claimed. One batch in flight cluster-wide keeps per-key ordering intact.
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE event_outbox
+            SET claimed_by = :owner, claimed_until = now() + make_interval(secs => :leaseMs / 1000.0)
+            WHERE id IN (SELECT id FROM event_outbox WHERE relay_seq IS NOT NULL ORDER BY relay_seq LIMIT :limit)
+              AND NOT EXISTS (SELECT 1 FROM event_outbox live WHERE live.claimed_until > now())
+            RETURNING *
+            """)
+    List<OutboxEvent> claimNextBatch(@Param("owner") UUID owner,
+                                     @Param("leaseMs") long leaseMs,
+                                     @Param("limit") int limit);
+
+    /** Hands events that were not delivered back, so the next claim picks them up first. */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE event_outbox SET claimed_by = NULL, claimed_until = NULL
+            WHERE claimed_by = :owner
+            """)
+    int releaseClaim(@Param("owner") UUID owner);
+}
@@ -0,0 +1,184 @@
+package com.mochafund.identityservice.outbox.service;
+
+import com.mochafund.identityservice.config.OutboxConfig;
+import com.mochafund.identityservice.outbox.entity.OutboxEvent;
+import com.mochafund.identityservice.outbox.repository.IOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the event outbox to Kafka. Every linger interval it claims the oldest batch under a
+ * lease, sends it key by key in commit order and deletes what the broker acknowledged. If an
+ * event fails, it and every later event with the same aggregate key stay in the outbox
+ * unsent, so they go out after it in order. Delivery is at-least-once.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final IOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxConfig.RelayProps props;
+
+    private final AtomicLong lagMs = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public OutboxRelay(IOutboxRepository outboxRepository, KafkaTemplate<String, Object> kafkaTemplate,
+                       TransactionTemplate transactionTemplate, OutboxConfig.RelayProps props,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.props = props;
+
+        Gauge.builder("outbox.lag", lagMs, AtomicLong::get)
+                .description("Age of the oldest unpublished event at the last relay run")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Events delivered to Kafka from the outbox")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.publish.failed")
+                .description("Outbox events whose send failed and will be retried")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+                .description("Events per relay batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.linger-ms:200}")
+    public void relay() {
+        // Keep draining without lingering while full batches go out cleanly
+        int sent;
+        do {
+            sent = relayBatch();
+        } while (sent == props.getBatchSize());
+    }
+
+    /**
+     * Claims a batch in one short transaction, publishes it with no transaction or connection
+     * held, then deletes what was delivered and releases the rest in a second short transaction.
+     */
+    private int relayBatch() {
+        UUID owner = UUID.randomUUID();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch(owner));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        try {
+            publish(batch, delivered);
+        } finally {
+            // If this fails the lease expires and the batch is re-sent: delivery stays at-least-once
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxRepository.deleteAllByIdInBatch(delivered);
+                outboxRepository.releaseClaim(owner);
+            });
+        }
+
+        publishedCounter.increment(delivered.size());
+        log.debug("Relayed {} of {} outbox events to Kafka", delivered.size(), batch.size());
+
+        return delivered.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private List<OutboxEvent> claimBatch(UUID owner) {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+
+        List<OutboxEvent> batch = new ArrayList<>(
+                outboxRepository.claimNextBatch(owner, props.getLeaseMs(), props.getBatchSize()));
+        if (batch.isEmpty()) {
+            // Either drained, or another node holds the lease and reports the lag itself
+            lagMs.set(0);
+            return batch;
+        }
+
+        batch.sort(Comparator.comparing(OutboxEvent::getRelaySeq));
+        lagMs.set(Duration.between(batch.getFirst().getCreatedAt(), LocalDateTime.now(ZoneOffset.UTC)).toMillis());
+        batchSizeSummary.record(batch.size());
+        return batch;
+    }
+
+    /**
+     * Sends the batch in rounds: each round sends the next event of every aggregate key and
+     * waits for the acks, so an event is only sent once the one before it on its key was
+     * acknowledged. A key stops at its first failure and its remaining events stay in the
+     * outbox, to be re-sent after the failed one. No new round starts once the lease could
+     * run out before it completes.
+     */
+    private void publish(List<OutboxEvent> batch, List<Long> delivered) {
+        // Events without a key have no ordering to keep, so each is its own queue
+        Map<Object, Deque<OutboxEvent>> queues = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            Object key = event.getAggregateKey() != null ? event.getAggregateKey() : event.getId();
+            queues.computeIfAbsent(key, k -> new ArrayDeque<>()).add(event);
+        }
+
+        long sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(props.getSendTimeoutMs());
+        long leaseEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getLeaseMs());
+
+        while (!queues.isEmpty() && System.nanoTime() + sendTimeoutNanos < leaseEnd) {
+            Map<Object, CompletableFuture<SendResult<String, Object>>> round = new LinkedHashMap<>();
+            queues.forEach((key, queue) -> round.put(key, send(queue.peek())));
+
+            long roundEnd = System.nanoTime() + sendTimeoutNanos;
+            for (Map.Entry<Object, CompletableFuture<SendResult<String, Object>>> entry : round.entrySet()) {
+                Deque<OutboxEvent> queue = queues.get(entry.getKey());
+                OutboxEvent event = queue.poll();
+                try {
+                    entry.getValue().get(Math.max(0, roundEnd - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    delivered.add(event.getId());
+                    if (queue.isEmpty()) {
+                        queues.remove(entry.getKey());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    queues.remove(entry.getKey());
+                    log.warn("Failed to publish outbox event {} ({}), will retry: {}", event.getId(), event.getTopic(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getAggregateKey(), event.getPayload());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
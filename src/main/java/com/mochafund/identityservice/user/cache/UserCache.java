@@ -0,0 +1,31 @@
+package com.mochafund.identityservice.user.cache;
+
+import com.mochafund.identityservice.common.cache.EntityCache;
+import com.mochafund.identityservice.config.CacheConfig;
+import com.mochafund.identityservice.user.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class UserCache extends EntityCache<UUID, User> {
+
+    public UserCache(CacheConfig.EntityCacheProps props, MeterRegistry meterRegistry) {
+        super("users", props.getUsers(), meterRegistry);
+    }
+
+    @Override
+    protected User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .email(user.getEmail())
+                .givenName(user.getGivenName())
+                .familyName(user.getFamilyName())
+                .isActive(user.getIsActive())
+                .lastWorkspaceId(user.getLastWorkspaceId())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mochafund.identityservice.user.consumer;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.keycloak.cache.KeycloakUserCache;
+import com.mochafund.identityservice.user.cache.UserCache;
+import com.mochafund.identityservice.user.events.UserEventPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts users changed on other nodes from this node's {@link UserCache} and
+ * {@link KeycloakUserCache}. Every instance joins its own consumer group so each one sees every event.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class UserCacheConsumer {
+
+    private final UserCache userCache;
+    private final KeycloakUserCache keycloakUserCache;
+
+    @KafkaListener(
+            topics = {EventType.USER_CREATED, EventType.USER_UPDATED, EventType.USER_DELETED},
+            groupId = "identity-service-user-cache-#{T(java.util.UUID).randomUUID()}",
+            concurrency = "1")
+    public void handleUserChanged(EventEnvelope<UserEventPayload> event) {
+        log.debug("Evicting cached user {} after {}", event.getPayload().getUserId(), event.getType());
+        userCache.evictRemote(event.getPayload().getUserId(), event.getOccurredAt());
+        // Another node may have pushed this user to Keycloak, leaving our representation behind
+        keycloakUserCache.evictUser(event.getPayload().getUserId());
+    }
+}
@@ -1,6 +1,8 @@
 package com.mochafund.identityservice.user.controller;
 
 import com.mochafund.identityservice.common.annotations.UserId;
+import com.mochafund.identityservice.common.util.ETagUtil;
+import com.mochafund.identityservice.keycloak.service.IKeycloakAdminService;
 import com.mochafund.identityservice.user.dto.UpdateUserDto;
 import com.mochafund.identityservice.user.dto.UserDto;
 import com.mochafund.identityservice.user.entity.User;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -30,16 +33,22 @@ import java.util.UUID;
 public class UserController {
 
     private final IUserService userService;
+    private final IKeycloakAdminService keycloakAdminService;
 
     @PostMapping(value = "/bootstrap")
     public ResponseEntity<UserDto> bootstrap(@AuthenticationPrincipal Jwt jwt) {
         User user = userService.createUser(jwt);
+        keycloakAdminService.awaitPendingSyncs();
         return ResponseEntity.ok().body(UserDto.fromEntity(user));
     }
 
     @GetMapping(value = "/self", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserDto> getSelf(@UserId UUID userId) {
+    public ResponseEntity<UserDto> getSelf(@UserId UUID userId, WebRequest request) {
         User user = userService.getUser(userId);
+        if (request.checkNotModified(ETagUtil.strongETag(user), ETagUtil.lastModified(user))) {
+            // 304 and validators are already on the response; skip building and writing the body
+            return null;
+        }
         return ResponseEntity.ok().body(UserDto.fromEntity(user));
     }
 
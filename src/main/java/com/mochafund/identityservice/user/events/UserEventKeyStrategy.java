@@ -0,0 +1,25 @@
+package com.mochafund.identityservice.user.events;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.kafka.key.EventKeyStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class UserEventKeyStrategy implements EventKeyStrategy {
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(EventType.USER_CREATED, EventType.USER_UPDATED, EventType.USER_DELETED);
+    }
+
+    @Override
+    public String key(EventEnvelope<?> event) {
+        if (event.getPayload() instanceof UserEventPayload payload && payload.getUserId() != null) {
+            return payload.getUserId().toString();
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.mochafund.identityservice.user.events;
 
+import com.mochafund.identityservice.user.projection.UpdatedUser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -24,4 +25,15 @@ public class UserEventPayload {
     private Boolean isActive;
     private UUID lastWorkspaceId;
     private boolean invalidate;
+
+    public static UserEventPayload fromUpdated(UpdatedUser user) {
+        return UserEventPayload.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .givenName(user.getGivenName())
+                .familyName(user.getFamilyName())
+                .isActive(user.getIsActive())
+                .lastWorkspaceId(user.getLastWorkspaceId())
+                .build();
+    }
 }
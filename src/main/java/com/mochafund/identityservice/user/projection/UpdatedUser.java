@@ -0,0 +1,17 @@
+package com.mochafund.identityservice.user.projection;
+
+import java.util.UUID;
+
+/**
+ * Row returned by a native {@code UPDATE users ... RETURNING}. A projection rather than the
+ * entity, so a user already managed in the persistence context cannot be returned unrefreshed
+ * in place of the updated row.
+ */
+public interface UpdatedUser {
+    UUID getId();
+    String getEmail();
+    String getGivenName();
+    String getFamilyName();
+    Boolean getIsActive();
+    UUID getLastWorkspaceId();
+}
@@ -1,13 +1,49 @@
 package com.mochafund.identityservice.user.repository;
 
 import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.user.projection.UpdatedUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface IUserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    List<User> findAllByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    @Query("""
+            select m.user from WorkspaceMembership m
+            where m.workspace.id = :workspaceId and m.user.id > :after
+            order by m.user.id
+            """)
+    List<User> findWorkspaceMembersAfter(@Param("workspaceId") UUID workspaceId, @Param("after") UUID after, Limit limit);
+
+    /**
+     * Locks the user's row until the transaction ends, serializing changes that must see all of
+     * the user's memberships. {@code NO KEY UPDATE} does not block inserts that reference the user.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM users WHERE id = :userId FOR NO KEY UPDATE")
+    Optional<UUID> lockById(@Param("userId") UUID userId);
+
+    /**
+     * Points the user at a workspace and returns the updated row, so the change can be
+     * published without a second read. Empty if the user does not exist.
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE users SET last_workspace_id = :workspaceId, updated_at = :updatedAt
+            WHERE id = :userId
+            RETURNING id AS "id", email AS "email", given_name AS "givenName", family_name AS "familyName",
+                      is_active AS "isActive", last_workspace_id AS "lastWorkspaceId"
+            """)
+    Optional<UpdatedUser> updateLastWorkspaceId(@Param("userId") UUID userId,
+                                                @Param("workspaceId") UUID workspaceId,
+                                                @Param("updatedAt") LocalDateTime updatedAt);
 }
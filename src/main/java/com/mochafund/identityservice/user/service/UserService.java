@@ -6,8 +6,11 @@ import com.mochafund.identityservice.common.exception.InternalServerException;
 import com.mochafund.identityservice.common.exception.ResourceNotFoundException;
 import com.mochafund.identityservice.common.events.EventEnvelope;
 import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.common.patchable.ChangeSet;
 import com.mochafund.identityservice.kafka.KafkaProducer;
+import com.mochafund.identityservice.keycloak.enums.SyncMode;
 import com.mochafund.identityservice.keycloak.service.IKeycloakAdminService;
+import com.mochafund.identityservice.user.cache.UserCache;
 import com.mochafund.identityservice.user.dto.UpdateUserDto;
 import com.mochafund.identityservice.user.entity.User;
 import com.mochafund.identityservice.user.events.UserEventPayload;
@@ -15,7 +18,6 @@ import com.mochafund.identityservice.user.repository.IUserRepository;
 import com.mochafund.identityservice.workspace.dto.CreateWorkspaceDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
 import com.mochafund.identityservice.workspace.service.IWorkspaceService;
-import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
 import com.mochafund.identityservice.workspace.membership.service.IMembershipService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,14 +35,15 @@ import java.util.UUID;
 public class UserService implements IUserService {
 
     private final IUserRepository userRepository;
+    private final UserCache userCache;
     private final IKeycloakAdminService keycloakAdminService;
     private final IWorkspaceService workspaceService;
     private final IMembershipService membershipService;
     private final KafkaProducer kafkaProducer;
 
-    @Transactional(readOnly = true)
+    // No surrounding transaction, so cache hits never check out a connection
     public User getUser(UUID userId) {
-        return userRepository.findById(userId).orElseThrow(
+        return userCache.get(userId, userRepository::findById).orElseThrow(
                 () -> new ResourceNotFoundException("User not found"));
     }
 
@@ -48,12 +51,11 @@ public class UserService implements IUserService {
     public User updateUser(UUID userId, UpdateUserDto userDto) {
         log.info("Updating user with ID: {}", userId);
 
-        User user = this.getUser(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         String oldEmail = user.getEmail();
 
-        boolean invalidate = false;
-        if (userDto.getEmail() != null) {
-            invalidate = true;
+        if (userDto.getEmail() != null && !userDto.getEmail().equals(oldEmail)) {
             userRepository.findByEmail(userDto.getEmail())
                     .ifPresent(existingUser -> {
                         if (!existingUser.getId().equals(userId)) {
@@ -62,10 +64,16 @@ public class UserService implements IUserService {
                     });
         }
 
-        user.patchFrom(userDto);
+        ChangeSet changes = user.patchFrom(userDto);
+        if (changes.isEmpty()) {
+            log.debug("Update of user {} changed nothing, skipping write, sync and event", userId);
+            return user;
+        }
+
         User updatedUser = userRepository.save(user);
-        keycloakAdminService.syncAttributes(updatedUser);
-        publishEventWithOldEmail(EventType.USER_UPDATED, updatedUser, oldEmail, invalidate);
+        userCache.evict(userId);
+        keycloakAdminService.syncAttributes(updatedUser.getId(), SyncMode.ASYNC);
+        publishEventWithOldEmail(EventType.USER_UPDATED, updatedUser, oldEmail, changes.contains("email"));
 
         return updatedUser;
     }
@@ -75,17 +83,14 @@ public class UserService implements IUserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        var memberships = membershipService.listAllUserMemberships(userId);
-        log.info("User {} has {} workspace memberships to delete", user.getEmail(), memberships.size());
-        
-        for (WorkspaceMembership membership : memberships) {
-            membershipService.deleteMembership(userId, membership.getWorkspace().getId(), true);
-        }
+        int deletedMemberships = membershipService.deleteAllUserMemberships(userId);
+        log.info("Deleted {} workspace memberships of user {}", deletedMemberships, user.getEmail());
 
         try {
             keycloakAdminService.logoutAllSessions();
             keycloakAdminService.deleteUser();
             userRepository.deleteById(userId);
+            userCache.evict(userId);
 
             log.info("Successfully deleted user {}", user.getEmail());
             publishEvent(EventType.USER_DELETED, user, true);
@@ -142,6 +147,7 @@ public class UserService implements IUserService {
 
                 user.setLastWorkspaceId(workspace.getId());
                 user = userRepository.save(user);
+                userCache.evict(user.getId());
                 log.debug("Updated user {} lastWorkspaceId to: {}", user.getId(), workspace.getId());
             } catch (Exception e) {
                 log.error("Failed to create default workspace for user {}", user.getId());
@@ -149,15 +155,11 @@ public class UserService implements IUserService {
             }
         }
 
-        try {
-            keycloakAdminService.syncAttributes(sub, user);
-            log.debug("Keycloak attributes set for email={}, userId={}", user.getEmail(), user.getId());
-            publishEvent(EventType.USER_CREATED, user, false);
-            return user;
-        } catch (Exception e) {
-            log.warn("Failed to update Keycloak for sub={}, createdNewUser={}, err={}", sub, created, e.toString());
-            throw new InternalServerException(e.getMessage());
-        }
+        // Bootstrapping clients refresh their token right away; the controller waits for the attributes to land
+        keycloakAdminService.syncAttributes(sub, user.getId(), SyncMode.AWAIT);
+        log.debug("Keycloak sync scheduled for email={}, userId={}, createdNewUser={}", user.getEmail(), user.getId(), created);
+        publishEvent(EventType.USER_CREATED, user, false);
+        return user;
     }
 
     private void publishEvent(String type, User user, boolean invalidate) {
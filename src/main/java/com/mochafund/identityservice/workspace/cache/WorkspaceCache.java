@@ -0,0 +1,27 @@
+package com.mochafund.identityservice.workspace.cache;
+
+import com.mochafund.identityservice.common.cache.EntityCache;
+import com.mochafund.identityservice.config.CacheConfig;
+import com.mochafund.identityservice.workspace.entity.Workspace;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class WorkspaceCache extends EntityCache<UUID, Workspace> {
+
+    public WorkspaceCache(CacheConfig.EntityCacheProps props, MeterRegistry meterRegistry) {
+        super("workspaces", props.getWorkspaces(), meterRegistry);
+    }
+
+    @Override
+    protected Workspace copy(Workspace workspace) {
+        return Workspace.builder()
+                .id(workspace.getId())
+                .createdAt(workspace.getCreatedAt())
+                .updatedAt(workspace.getUpdatedAt())
+                .status(workspace.getStatus())
+                .build();
+    }
+}
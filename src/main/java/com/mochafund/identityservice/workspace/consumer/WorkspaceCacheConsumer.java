@@ -0,0 +1,32 @@
+package com.mochafund.identityservice.workspace.consumer;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.workspace.cache.WorkspaceCache;
+import com.mochafund.identityservice.workspace.events.WorkspaceEventPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts workspaces changed on other nodes from this node's {@link WorkspaceCache}. Every
+ * instance joins its own consumer group so each one sees every event.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class WorkspaceCacheConsumer {
+
+    private final WorkspaceCache workspaceCache;
+
+    @KafkaListener(
+            topics = {EventType.WORKSPACE_PROVISIONING, EventType.WORKSPACE_CREATED,
+                    EventType.WORKSPACE_ACTIVATED, EventType.WORKSPACE_DELETED_INITIALIZED},
+            groupId = "identity-service-workspace-cache-#{T(java.util.UUID).randomUUID()}",
+            concurrency = "1")
+    public void handleWorkspaceChanged(EventEnvelope<WorkspaceEventPayload> event) {
+        log.debug("Evicting cached workspace {} after {}", event.getPayload().getWorkspaceId(), event.getType());
+        workspaceCache.evictRemote(event.getPayload().getWorkspaceId(), event.getOccurredAt());
+    }
+}
@@ -1,27 +1,27 @@
 package com.mochafund.identityservice.workspace.consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mochafund.identityservice.common.events.EventEnvelope;
 import com.mochafund.identityservice.common.events.EventType;
 import com.mochafund.identityservice.common.util.CorrelationIdUtil;
+import com.mochafund.identityservice.keycloak.sync.KeycloakResyncJob;
 import com.mochafund.identityservice.role.enums.Role;
-import com.mochafund.identityservice.workspace.entity.Workspace;
-import com.mochafund.identityservice.workspace.enums.WorkspaceStatus;
 import com.mochafund.identityservice.workspace.events.WorkspaceEventPayload;
 import com.mochafund.identityservice.workspace.membership.dto.UpdateMembershipDto;
 import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
 import com.mochafund.identityservice.workspace.membership.events.WorkspaceMembershipEventPayload;
 import com.mochafund.identityservice.workspace.membership.service.IMembershipService;
-import com.mochafund.identityservice.workspace.repository.IWorkspaceRepository;
 import com.mochafund.identityservice.workspace.service.IWorkspaceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -33,27 +33,71 @@ public class WorkspaceEventConsumer {
 
     private final IMembershipService membershipService;
     private final IWorkspaceService workspaceService;
-    private final IWorkspaceRepository workspaceRepository;
-    private final ObjectMapper objectMapper;
+    private final KeycloakResyncJob keycloakResyncJob;
 
-    @KafkaListener(topics = EventType.WORKSPACE_CREATED, groupId = "identity-service")
-    public void handleWorkspaceCreated(String message) {
-        EventEnvelope<WorkspaceEventPayload> event = readEnvelope(message, WorkspaceEventPayload.class);
+    /**
+     * Activates a poll's worth of workspaces with one set-based UPDATE. If that fails, the
+     * records are handled one at a time; a record that still fails (or could not be
+     * deserialized) is reported to the error handler by index, so only it and the records
+     * after it are retried.
+     */
+    @KafkaListener(topics = EventType.WORKSPACE_CREATED, groupId = "identity-service",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleWorkspaceCreated(List<EventEnvelope<WorkspaceEventPayload>> messages) {
+        Map<Integer, EventEnvelope<WorkspaceEventPayload>> events = new LinkedHashMap<>();
+        int failedIndex = messages.size();
+        RuntimeException failure = null;
+
+        for (int i = 0; i < messages.size(); i++) {
+            // ErrorHandlingDeserializer hands us null for records it could not read
+            if (messages.get(i) == null) {
+                log.error("Failed to deserialize workspace.created record {} of batch", i);
+                failedIndex = i;
+                failure = new DeserializationException("Failed to parse event envelope", null, false, null);
+                break;
+            }
+            events.put(i, messages.get(i));
+        }
+
+        List<UUID> workspaceIds = events.values().stream().map(e -> e.getPayload().getWorkspaceId()).toList();
+        try {
+            int activated = workspaceService.activateWorkspaces(workspaceIds);
+            log.info("Activated {} of {} workspaces from workspace.created batch", activated, workspaceIds.size());
+        } catch (RuntimeException e) {
+            log.warn("Bulk activation of {} workspaces failed, falling back to per-record handling: {}",
+                    workspaceIds.size(), e.getMessage());
+            for (Map.Entry<Integer, EventEnvelope<WorkspaceEventPayload>> entry : events.entrySet()) {
+                try {
+                    activateWorkspace(entry.getValue());
+                } catch (RuntimeException recordFailure) {
+                    failedIndex = entry.getKey();
+                    failure = recordFailure;
+                    break;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw new BatchListenerFailedException("Failed to handle workspace.created record", failure, failedIndex);
+        }
+    }
+
+    private void activateWorkspace(EventEnvelope<WorkspaceEventPayload> event) {
         CorrelationIdUtil.executeWithCorrelationId(event, () -> {
             WorkspaceEventPayload payload = event.getPayload();
             log.info("Processing workspace.created - Workspace: {}", payload.getName());
 
-            Workspace workspace = workspaceService.getWorkspace(payload.getWorkspaceId());
-            workspace.setStatus(WorkspaceStatus.ACTIVE);
-            workspaceRepository.save(workspace);
+            if (workspaceService.activateWorkspaces(List.of(payload.getWorkspaceId())) == 0) {
+                log.info("Workspace {} is not provisioning, skipping activation", payload.getWorkspaceId());
+                return;
+            }
 
-            log.info("Successfully updated workspace status to active: {}", workspace.getId());
+            log.info("Successfully updated workspace status to active: {}", payload.getWorkspaceId());
         });
     }
 
     @KafkaListener(topics = EventType.WORKSPACE_MEMBERSHIP_DELETED, groupId = "identity-service")
-    public void handleMembershipDeleted(String message) {
-        EventEnvelope<WorkspaceMembershipEventPayload> event = readEnvelope(message, WorkspaceMembershipEventPayload.class);
+    public void handleMembershipDeleted(EventEnvelope<WorkspaceMembershipEventPayload> event) {
         CorrelationIdUtil.executeWithCorrelationId(event, () -> {
             WorkspaceMembershipEventPayload payload = event.getPayload();
             log.info("Processing workspace.membership.deleted - User: {}, Workspace: {}",
@@ -81,18 +125,10 @@ public class WorkspaceEventConsumer {
                                     .build()
                         )
                 );
+
+                // Roles changed for the remaining members, push them to Keycloak
+                keycloakResyncJob.resyncWorkspace(workspaceId, null);
             }
         });
     }
-
-    private <T> EventEnvelope<T> readEnvelope(String message, Class<T> payloadType) {
-        try {
-            return objectMapper.readValue(
-                    message,
-                    objectMapper.getTypeFactory().constructParametricType(EventEnvelope.class, payloadType)
-            );
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Failed to parse event envelope", e);
-        }
-    }
 }
\ No newline at end of file
@@ -1,19 +1,28 @@
 package com.mochafund.identityservice.workspace.controller;
 
 import com.mochafund.identityservice.common.annotations.WorkspaceId;
-import com.mochafund.identityservice.user.dto.UserDto;
-import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.common.exception.ResourceNotFoundException;
+import com.mochafund.identityservice.common.util.ETagUtil;
+import com.mochafund.identityservice.keycloak.dto.ResyncJobDto;
+import com.mochafund.identityservice.keycloak.sync.KeycloakResyncJob;
+import com.mochafund.identityservice.keycloak.sync.ResyncProgress;
 import com.mochafund.identityservice.workspace.dto.WorkspaceDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.membership.dto.BulkCreateMembershipsDto;
+import com.mochafund.identityservice.workspace.membership.dto.BulkUpdateMembershipsDto;
 import com.mochafund.identityservice.workspace.membership.dto.CreateMembershipDto;
+import com.mochafund.identityservice.workspace.membership.dto.MembershipResultDto;
 import com.mochafund.identityservice.workspace.membership.dto.UpdateMembershipDto;
+import com.mochafund.identityservice.workspace.membership.dto.WorkspaceMemberDto;
 import com.mochafund.identityservice.workspace.membership.dto.WorkspaceMembershipDto;
 import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
+import com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember;
 import com.mochafund.identityservice.workspace.membership.service.IMembershipService;
 import com.mochafund.identityservice.workspace.service.IWorkspaceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,8 +33,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,22 +49,32 @@ public class CurrentWorkspaceController {
 
     private final IMembershipService membershipService;
     private final IWorkspaceService workspaceService;
+    private final KeycloakResyncJob keycloakResyncJob;
 
-    @PreAuthorize("hasAuthority('READ')")
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'READ')")
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<WorkspaceDto> getCurrentWorkspace(@WorkspaceId UUID workspaceId) {
+    public ResponseEntity<WorkspaceDto> getCurrentWorkspace(@WorkspaceId UUID workspaceId, WebRequest request) {
         Workspace workspace = workspaceService.getWorkspace(workspaceId);
+        if (request.checkNotModified(ETagUtil.strongETag(workspace), ETagUtil.lastModified(workspace))) {
+            // 304 and validators are already on the response; skip building and writing the body
+            return null;
+        }
         return ResponseEntity.ok().body(WorkspaceDto.fromEntity(workspace));
     }
 
-    @PreAuthorize("hasAuthority('READ')")
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'READ')")
     @GetMapping(value = "/members", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<UserDto>> getMembers(@WorkspaceId UUID workspaceId) {
-        List<User> users = workspaceService.listAllMembers(workspaceId);
-        return ResponseEntity.ok().body(UserDto.fromEntities(users));
+    public ResponseEntity<List<WorkspaceMemberDto>> getMembers(
+            @WorkspaceId UUID workspaceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterJoinedAt,
+            @RequestParam(required = false) UUID afterUserId,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        List<WorkspaceMember> members = membershipService.listWorkspaceMembers(workspaceId, afterJoinedAt, afterUserId, limit);
+        return ResponseEntity.ok().body(WorkspaceMemberDto.fromProjections(members));
     }
 
-    @PreAuthorize("hasAuthority('OWNER')")
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
     @PostMapping(value = "/members", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<WorkspaceMembershipDto> addWorkspaceMembership(
             @WorkspaceId UUID workspaceId,
@@ -64,7 +86,48 @@ public class CurrentWorkspaceController {
         return ResponseEntity.ok().body(WorkspaceMembershipDto.fromEntity(membership));
     }
 
-    @PreAuthorize("hasAuthority('OWNER')")
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
+    @PostMapping(value = "/members/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<MembershipResultDto>> addWorkspaceMemberships(
+            @WorkspaceId UUID workspaceId,
+            @Valid @RequestBody BulkCreateMembershipsDto membershipsDto
+    ) {
+        List<MembershipResultDto> results = membershipService
+                .createMemberships(workspaceId, membershipsDto.getMemberships());
+        return ResponseEntity.ok().body(results);
+    }
+
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
+    @PatchMapping(value = "/members/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<MembershipResultDto>> updateWorkspaceMemberships(
+            @WorkspaceId UUID workspaceId,
+            @Valid @RequestBody BulkUpdateMembershipsDto membershipsDto
+    ) {
+        List<MembershipResultDto> results = membershipService
+                .updateMemberships(workspaceId, membershipsDto.getMemberships());
+        return ResponseEntity.ok().body(results);
+    }
+
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
+    @PostMapping(value = "/members/resync", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResyncJobDto> resyncWorkspaceMembers(
+            @WorkspaceId UUID workspaceId,
+            @RequestParam(required = false) UUID resumeAfter
+    ) {
+        ResyncProgress job = keycloakResyncJob.resyncWorkspace(workspaceId, resumeAfter);
+        return ResponseEntity.accepted().body(ResyncJobDto.fromProgress(job));
+    }
+
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
+    @GetMapping(value = "/members/resync/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResyncJobDto> getResyncJob(@WorkspaceId UUID workspaceId, @PathVariable UUID jobId) {
+        ResyncProgress job = keycloakResyncJob.findJob(jobId)
+                .filter(j -> j.getScope().equals("workspace:" + workspaceId))
+                .orElseThrow(() -> new ResourceNotFoundException("Re-sync job not found"));
+        return ResponseEntity.ok().body(ResyncJobDto.fromProgress(job));
+    }
+
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
     @PatchMapping(value = "/members/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<WorkspaceMembershipDto> updateWorkspaceMembership(
             @WorkspaceId UUID workspaceId, @PathVariable UUID userId,
@@ -74,7 +137,7 @@ public class CurrentWorkspaceController {
         return ResponseEntity.ok().body(WorkspaceMembershipDto.fromEntity(membership));
     }
 
-    @PreAuthorize("hasAuthority('OWNER')")
+    @PreAuthorize("@workspaceAuthz.hasRole(authentication, 'OWNER')")
     @DeleteMapping(value = "/members/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Void> deleteWorkspaceMembership(
             @WorkspaceId UUID workspaceId, @PathVariable UUID userId
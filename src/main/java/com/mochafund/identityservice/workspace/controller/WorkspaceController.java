@@ -1,10 +1,12 @@
 package com.mochafund.identityservice.workspace.controller;
 
 import com.mochafund.identityservice.common.annotations.UserId;
+import com.mochafund.identityservice.keycloak.service.IKeycloakAdminService;
 import com.mochafund.identityservice.workspace.dto.CreateWorkspaceDto;
 import com.mochafund.identityservice.workspace.dto.SwitchWorkspaceDto;
 import com.mochafund.identityservice.workspace.dto.WorkspaceDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.projection.WorkspaceSummary;
 import com.mochafund.identityservice.workspace.service.IWorkspaceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -27,11 +30,16 @@ import java.util.UUID;
 public class WorkspaceController {
 
     private final IWorkspaceService workspaceService;
+    private final IKeycloakAdminService keycloakAdminService;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<WorkspaceDto>> getAllWorkspaces(@UserId UUID userId) {
-        List<Workspace> workspaces = workspaceService.listAllByUserId(userId);
-        return ResponseEntity.ok().body(WorkspaceDto.fromEntities(workspaces));
+    public ResponseEntity<List<WorkspaceDto>> getAllWorkspaces(
+            @UserId UUID userId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        List<WorkspaceSummary> workspaces = workspaceService.listAllByUserId(userId, after, limit);
+        return ResponseEntity.ok().body(WorkspaceDto.fromProjections(workspaces));
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -40,6 +48,7 @@ public class WorkspaceController {
     ) {
         Workspace createdWorkspace = workspaceService.provisionWorkspace(userId, workspaceDto);
         Workspace newWorkspace = workspaceService.switchWorkspace(userId, createdWorkspace.getId());
+        keycloakAdminService.awaitPendingSyncs();
         return ResponseEntity.status(201).body(WorkspaceDto.fromEntity(newWorkspace));
     }
 
@@ -48,6 +57,7 @@ public class WorkspaceController {
             @UserId UUID userId, @Valid @RequestBody SwitchWorkspaceDto switchWorkspaceDto
     ) {
         Workspace workspace = workspaceService.switchWorkspace(userId, switchWorkspaceDto.getWorkspaceId());
+        keycloakAdminService.awaitPendingSyncs();
         return ResponseEntity.ok().body(WorkspaceDto.fromEntity(workspace));
     }
 }
@@ -2,6 +2,7 @@ package com.mochafund.identityservice.workspace.dto;
 
 import com.mochafund.identityservice.common.dto.BaseDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.projection.WorkspaceSummary;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -32,4 +33,17 @@ public class WorkspaceDto extends BaseDto {
     public static List<WorkspaceDto> fromEntities(List<Workspace> workspaces) {
         return workspaces.stream().map(WorkspaceDto::fromEntity).toList();
     }
+
+    public static WorkspaceDto fromProjection(WorkspaceSummary workspace) {
+        return WorkspaceDto.builder()
+                .id(workspace.id())
+                .createdAt(workspace.createdAt())
+                .updatedAt(workspace.updatedAt())
+                .status(workspace.status().name())
+                .build();
+    }
+
+    public static List<WorkspaceDto> fromProjections(List<WorkspaceSummary> workspaces) {
+        return workspaces.stream().map(WorkspaceDto::fromProjection).toList();
+    }
 }
@@ -0,0 +1,26 @@
+package com.mochafund.identityservice.workspace.events;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.kafka.key.EventKeyStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class WorkspaceEventKeyStrategy implements EventKeyStrategy {
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(EventType.WORKSPACE_PROVISIONING, EventType.WORKSPACE_CREATED,
+                EventType.WORKSPACE_ACTIVATED, EventType.WORKSPACE_DELETED_INITIALIZED);
+    }
+
+    @Override
+    public String key(EventEnvelope<?> event) {
+        if (event.getPayload() instanceof WorkspaceEventPayload payload && payload.getWorkspaceId() != null) {
+            return payload.getWorkspaceId().toString();
+        }
+        return null;
+    }
+}
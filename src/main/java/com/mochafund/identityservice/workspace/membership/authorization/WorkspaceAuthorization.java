@@ -0,0 +1,38 @@
+package com.mochafund.identityservice.workspace.membership.authorization;
+
+import com.mochafund.identityservice.common.security.IdentityContext;
+import com.mochafund.identityservice.config.SecurityConfig;
+import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.workspace.membership.cache.MembershipRoleCache;
+import com.mochafund.identityservice.workspace.membership.enums.AuthorizationMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Role checks for the caller's current workspace, used from {@code @PreAuthorize}.
+ * In TOKEN mode the JWT's roles claim decides, as Keycloak last saw it. In LOCAL mode the roles
+ * come from {@link MembershipRoleCache}, so role changes apply on the next request instead of
+ * after a Keycloak resync and token refresh.
+ */
+@Component("workspaceAuthz")
+@RequiredArgsConstructor
+public class WorkspaceAuthorization {
+
+    private final SecurityConfig.AuthorizationProps props;
+    private final MembershipRoleCache membershipRoleCache;
+
+    public boolean hasRole(Authentication authentication, String role) {
+        if (authentication == null) return false;
+
+        if (props.getMode() == AuthorizationMode.TOKEN) {
+            return authentication.getAuthorities().stream().anyMatch(a -> role.equals(a.getAuthority()));
+        }
+
+        return IdentityContext.find()
+                .filter(identity -> identity.userId().value() != null && identity.workspaceId().value() != null)
+                .map(identity -> membershipRoleCache.getRoles(identity.userId().value(), identity.workspaceId().value()))
+                .map(roles -> roles.contains(Role.valueOf(role)))
+                .orElse(false);
+    }
+}
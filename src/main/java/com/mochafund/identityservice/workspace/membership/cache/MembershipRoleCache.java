@@ -0,0 +1,49 @@
+package com.mochafund.identityservice.workspace.membership.cache;
+
+import com.mochafund.identityservice.common.cache.EntityCache;
+import com.mochafund.identityservice.config.CacheConfig;
+import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.workspace.membership.projection.MembershipRoles;
+import com.mochafund.identityservice.workspace.membership.repository.IMembershipRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Roles per (user, workspace), read from workspace_memberships. Non-members are cached as an
+ * empty set, so repeated denials do not reach the database either.
+ */
+@Component
+public class MembershipRoleCache extends EntityCache<MembershipRoleCache.Key, Set<Role>> {
+
+    private final IMembershipRepository membershipRepository;
+
+    public MembershipRoleCache(CacheConfig.EntityCacheProps props, MeterRegistry meterRegistry,
+                               IMembershipRepository membershipRepository) {
+        super("membership.roles", props.getMembershipRoles(), meterRegistry);
+        this.membershipRepository = membershipRepository;
+    }
+
+    public Set<Role> getRoles(UUID userId, UUID workspaceId) {
+        return get(new Key(userId, workspaceId), key -> Optional.of(membershipRepository
+                .findRoles(key.userId(), key.workspaceId())
+                .map(MembershipRoles::roles)
+                .orElse(Set.of())))
+                .orElseThrow();
+    }
+
+    public void evict(UUID userId, UUID workspaceId) {
+        evict(new Key(userId, workspaceId));
+    }
+
+    @Override
+    protected Set<Role> copy(Set<Role> roles) {
+        return Set.copyOf(roles);
+    }
+
+    public record Key(UUID userId, UUID workspaceId) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.mochafund.identityservice.workspace.membership.consumer;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.workspace.membership.cache.MembershipRoleCache;
+import com.mochafund.identityservice.workspace.membership.events.WorkspaceMembershipEventPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts memberships changed on other nodes from this node's {@link MembershipRoleCache}.
+ * Every instance joins its own consumer group so each one sees every event.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class MembershipRoleCacheConsumer {
+
+    private final MembershipRoleCache membershipRoleCache;
+
+    @KafkaListener(
+            topics = {EventType.WORKSPACE_MEMBERSHIP_CREATED, EventType.WORKSPACE_MEMBERSHIP_UPDATED, EventType.WORKSPACE_MEMBERSHIP_DELETED},
+            groupId = "identity-service-membership-cache-#{T(java.util.UUID).randomUUID()}",
+            concurrency = "1")
+    public void handleMembershipChanged(EventEnvelope<WorkspaceMembershipEventPayload> event) {
+        WorkspaceMembershipEventPayload payload = event.getPayload();
+        log.debug("Evicting cached roles of user {} in workspace {} after {}",
+                payload.getUserId(), payload.getWorkspaceId(), event.getType());
+        membershipRoleCache.evictRemote(
+                new MembershipRoleCache.Key(payload.getUserId(), payload.getWorkspaceId()), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,25 @@
+package com.mochafund.identityservice.workspace.membership.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateMembershipsDto {
+
+    @NotEmpty(message = "At least one membership must be provided")
+    @Size(max = 500, message = "At most 500 memberships can be added per request")
+    private List<@NotNull @Valid CreateMembershipDto> memberships;
+}
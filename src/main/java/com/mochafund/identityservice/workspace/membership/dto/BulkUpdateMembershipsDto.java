@@ -0,0 +1,46 @@
+package com.mochafund.identityservice.workspace.membership.dto;
+
+import com.mochafund.identityservice.role.enums.Role;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateMembershipsDto {
+
+    @NotEmpty(message = "At least one membership must be provided")
+    @Size(max = 500, message = "At most 500 memberships can be updated per request")
+    private List<@NotNull @Valid Item> memberships;
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "User ID must be provided")
+        private UUID userId;
+
+        @NotEmpty(message = "At least one role must be provided")
+        private Set<@NotNull Role> roles;
+
+        public UpdateMembershipDto toUpdate() {
+            return UpdateMembershipDto.builder().roles(roles).build();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mochafund.identityservice.workspace.membership.dto;
+
+import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk membership request. {@code status} is the HTTP status the
+ * item would have produced on its own; {@code membership} is set only when it succeeded.
+ */
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipResultDto {
+    private UUID userId;
+    private int status;
+    private String detail;
+    private WorkspaceMembershipDto membership;
+
+    public static MembershipResultDto success(HttpStatus status, WorkspaceMembership membership) {
+        return MembershipResultDto.builder()
+                .userId(membership.getUser().getId())
+                .status(status.value())
+                .membership(WorkspaceMembershipDto.fromEntity(membership))
+                .build();
+    }
+
+    public static MembershipResultDto failure(UUID userId, HttpStatus status, String detail) {
+        return MembershipResultDto.builder()
+                .userId(userId)
+                .status(status.value())
+                .detail(detail)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.mochafund.identityservice.workspace.membership.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.user.dto.UserDto;
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+import com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder(toBuilder = true)
+public class WorkspaceMemberDto extends UserDto {
+    private Set<Role> roles;
+    private MembershipStatus status;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime joinedAt;
+
+    public static WorkspaceMemberDto fromProjection(WorkspaceMember member) {
+        return WorkspaceMemberDto.builder()
+                .id(member.userId())
+                .createdAt(member.createdAt())
+                .updatedAt(member.updatedAt())
+                .email(member.email())
+                .givenName(member.givenName())
+                .familyName(member.familyName())
+                .isActive(member.isActive())
+                .lastWorkspaceId(member.lastWorkspaceId())
+                .roles(member.roles())
+                .status(member.status())
+                .joinedAt(member.joinedAt())
+                .build();
+    }
+
+    public static List<WorkspaceMemberDto> fromProjections(List<WorkspaceMember> members) {
+        return members.stream().map(WorkspaceMemberDto::fromProjection).toList();
+    }
+}
@@ -24,6 +24,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Set;
 
 @Entity
@@ -54,5 +55,5 @@ public class WorkspaceMembership extends BaseEntity implements Patchable {
     private MembershipStatus status = MembershipStatus.ACTIVE;
 
     @Column(name = "joined_at", nullable = false)
-    private LocalDateTime joinedAt = LocalDateTime.now();
+    private LocalDateTime joinedAt = LocalDateTime.now(ZoneOffset.UTC);
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.mochafund.identityservice.workspace.membership.enums;
+
+public enum AuthorizationMode {
+    TOKEN, LOCAL
+}
@@ -0,0 +1,29 @@
+package com.mochafund.identityservice.workspace.membership.events;
+
+import com.mochafund.identityservice.common.events.EventEnvelope;
+import com.mochafund.identityservice.common.events.EventType;
+import com.mochafund.identityservice.kafka.key.EventKeyStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Keys membership events by workspace, so they stay ordered with the workspace's own events.
+ */
+@Component
+public class WorkspaceMembershipEventKeyStrategy implements EventKeyStrategy {
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(EventType.WORKSPACE_MEMBERSHIP_CREATED, EventType.WORKSPACE_MEMBERSHIP_UPDATED,
+                EventType.WORKSPACE_MEMBERSHIP_DELETED);
+    }
+
+    @Override
+    public String key(EventEnvelope<?> event) {
+        if (event.getPayload() instanceof WorkspaceMembershipEventPayload payload && payload.getWorkspaceId() != null) {
+            return payload.getWorkspaceId().toString();
+        }
+        return null;
+    }
+}
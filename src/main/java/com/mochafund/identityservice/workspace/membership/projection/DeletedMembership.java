@@ -0,0 +1,18 @@
+package com.mochafund.identityservice.workspace.membership.projection;
+
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row returned by the native {@code DELETE ... RETURNING} of a user's memberships.
+ * Roles come back as their JSON text, since native results bypass the entity's JSON mapping.
+ */
+public interface DeletedMembership {
+    UUID getUserId();
+    UUID getWorkspaceId();
+    String getRoles();
+    MembershipStatus getStatus();
+    LocalDateTime getJoinedAt();
+}
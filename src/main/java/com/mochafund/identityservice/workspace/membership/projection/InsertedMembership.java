@@ -0,0 +1,21 @@
+package com.mochafund.identityservice.workspace.membership.projection;
+
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row returned by the native bulk {@code INSERT ... RETURNING} of memberships.
+ * Roles come back as their JSON text, since native results bypass the entity's JSON mapping.
+ */
+public interface InsertedMembership {
+    UUID getId();
+    UUID getUserId();
+    UUID getWorkspaceId();
+    String getRoles();
+    MembershipStatus getStatus();
+    LocalDateTime getJoinedAt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,9 @@
+package com.mochafund.identityservice.workspace.membership.projection;
+
+import com.mochafund.identityservice.role.enums.Role;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record MembershipRoles(UUID userId, UUID workspaceId, Set<Role> roles) {
+}
@@ -0,0 +1,23 @@
+package com.mochafund.identityservice.workspace.membership.projection;
+
+import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record WorkspaceMember(
+        UUID userId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String email,
+        String givenName,
+        String familyName,
+        Boolean isActive,
+        UUID lastWorkspaceId,
+        Set<Role> roles,
+        MembershipStatus status,
+        LocalDateTime joinedAt
+) {
+}
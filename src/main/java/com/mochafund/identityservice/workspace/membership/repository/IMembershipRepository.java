@@ -1,10 +1,20 @@
 package com.mochafund.identityservice.workspace.membership.repository;
 
 import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
+import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
+import com.mochafund.identityservice.workspace.membership.projection.DeletedMembership;
+import com.mochafund.identityservice.workspace.membership.projection.InsertedMembership;
+import com.mochafund.identityservice.workspace.membership.projection.MembershipRoles;
+import com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,5 +31,112 @@ public interface IMembershipRepository extends JpaRepository<WorkspaceMembership
     @EntityGraph(attributePaths = {"user", "workspace"})
     Optional<WorkspaceMembership> findByUser_IdAndWorkspace_Id(UUID userId, UUID workspaceId);
 
-    void deleteByUser_IdAndWorkspace_Id(UUID userId, UUID workspaceId);
+    @EntityGraph(attributePaths = {"user", "workspace"})
+    List<WorkspaceMembership> findAllByWorkspace_IdAndUser_IdIn(UUID workspaceId, Collection<UUID> userIds);
+
+    /**
+     * Adds the users to the workspace in one statement, pairing {@code ids[i]}, {@code userIds[i]}
+     * and the JSON array {@code roles[i]}. Users that already have a membership, including one
+     * inserted concurrently, are skipped; returns the rows that were inserted.
+     */
+    @Query(nativeQuery = true, value = """
+            INSERT INTO workspace_memberships (id, user_id, workspace_id, roles, status, joined_at, created_at, updated_at)
+            SELECT item.id, item.user_id, :workspaceId, item.roles::jsonb, :#{#status.name()},
+                   :joinedAt, :joinedAt, :joinedAt
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:userIds AS uuid[]), CAST(:roles AS text[])) AS item(id, user_id, roles)
+            ON CONFLICT (user_id, workspace_id) DO NOTHING
+            RETURNING id AS "id", user_id AS "userId", workspace_id AS "workspaceId", roles::text AS "roles",
+                      status AS "status", joined_at::timestamp AS "joinedAt",
+                      created_at::timestamp AS "createdAt", updated_at::timestamp AS "updatedAt"
+            """)
+    List<InsertedMembership> insertAllIgnoringExisting(@Param("workspaceId") UUID workspaceId,
+                                                       @Param("ids") UUID[] ids,
+                                                       @Param("userIds") UUID[] userIds,
+                                                       @Param("roles") String[] roles,
+                                                       @Param("status") MembershipStatus status,
+                                                       @Param("joinedAt") LocalDateTime joinedAt);
+
+    @Query("""
+            select new com.mochafund.identityservice.workspace.membership.projection.MembershipRoles(
+                m.user.id, m.workspace.id, m.roles)
+            from WorkspaceMembership m
+            where m.user.id = :userId and m.workspace.id = :workspaceId
+            """)
+    Optional<MembershipRoles> findRoles(@Param("userId") UUID userId, @Param("workspaceId") UUID workspaceId);
+
+    /**
+     * Returns roles for every membership in the user × workspace cross product. Callers
+     * that need exact pairs filter the (small) superset; both sides hit the unique index.
+     */
+    @Query("""
+            select new com.mochafund.identityservice.workspace.membership.projection.MembershipRoles(
+                m.user.id, m.workspace.id, m.roles)
+            from WorkspaceMembership m
+            where m.user.id in :userIds and m.workspace.id in :workspaceIds
+            """)
+    List<MembershipRoles> findRolesIn(@Param("userIds") Collection<UUID> userIds,
+                                      @Param("workspaceIds") Collection<UUID> workspaceIds);
+
+    @Query("""
+            select new com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember(
+                u.id, u.createdAt, u.updatedAt, u.email, u.givenName, u.familyName, u.isActive,
+                u.lastWorkspaceId, m.roles, m.status, m.joinedAt)
+            from WorkspaceMembership m join m.user u
+            where m.workspace.id = :workspaceId
+            order by m.joinedAt, u.id
+            """)
+    List<WorkspaceMember> findMembers(@Param("workspaceId") UUID workspaceId, Limit limit);
+
+    /**
+     * Next keyset page of {@link #findMembers}, starting after the (joinedAt, userId) of the
+     * last member of the previous page.
+     */
+    @Query("""
+            select new com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember(
+                u.id, u.createdAt, u.updatedAt, u.email, u.givenName, u.familyName, u.isActive,
+                u.lastWorkspaceId, m.roles, m.status, m.joinedAt)
+            from WorkspaceMembership m join m.user u
+            where m.workspace.id = :workspaceId
+              and (m.joinedAt > :afterJoinedAt or (m.joinedAt = :afterJoinedAt and u.id > :afterUserId))
+            order by m.joinedAt, u.id
+            """)
+    List<WorkspaceMember> findMembersAfter(@Param("workspaceId") UUID workspaceId,
+                                           @Param("afterJoinedAt") LocalDateTime afterJoinedAt,
+                                           @Param("afterUserId") UUID afterUserId,
+                                           Limit limit);
+
+    long countByWorkspace_Id(UUID workspaceId);
+
+    boolean existsByUser_IdAndWorkspace_Id(UUID userId, UUID workspaceId);
+
+    /**
+     * Deletes the membership unless it is the user's last one (checked only when {@code force}
+     * is false), returning the deleted row. Empty if the membership is missing or guarded.
+     * The guard is only atomic against concurrent removals when the caller holds the user's
+     * row lock ({@code IUserRepository.lockById}).
+     */
+    @Query(nativeQuery = true, value = """
+            DELETE FROM workspace_memberships
+            WHERE user_id = :userId AND workspace_id = :workspaceId
+              AND (:force OR EXISTS (
+                  SELECT 1 FROM workspace_memberships other
+                  WHERE other.user_id = :userId AND other.workspace_id <> :workspaceId))
+            RETURNING user_id AS "userId", workspace_id AS "workspaceId", roles::text AS "roles",
+                      status AS "status", joined_at::timestamp AS "joinedAt"
+            """)
+    Optional<DeletedMembership> deleteReturning(@Param("userId") UUID userId,
+                                                @Param("workspaceId") UUID workspaceId,
+                                                @Param("force") boolean force);
+
+    /**
+     * Removes all of a user's memberships in one statement and returns the deleted rows.
+     * Not {@code @Modifying}: the RETURNING clause makes this a result-producing query.
+     */
+    @Query(nativeQuery = true, value = """
+            DELETE FROM workspace_memberships
+            WHERE user_id = :userId
+            RETURNING user_id AS "userId", workspace_id AS "workspaceId", roles::text AS "roles",
+                      status AS "status", joined_at::timestamp AS "joinedAt"
+            """)
+    List<DeletedMembership> deleteAllByUserReturning(@Param("userId") UUID userId);
 }
@@ -1,17 +1,31 @@
 package com.mochafund.identityservice.workspace.membership.service;
 
 import com.mochafund.identityservice.role.enums.Role;
+import com.mochafund.identityservice.workspace.membership.dto.BulkUpdateMembershipsDto;
+import com.mochafund.identityservice.workspace.membership.dto.CreateMembershipDto;
+import com.mochafund.identityservice.workspace.membership.dto.MembershipResultDto;
 import com.mochafund.identityservice.workspace.membership.dto.UpdateMembershipDto;
 import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
+import com.mochafund.identityservice.workspace.membership.projection.MembershipRoles;
+import com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 public interface IMembershipService {
     WorkspaceMembership createMembership(UUID userId, UUID workspaceId, Set<Role> roles);
     WorkspaceMembership updateMembership(UUID userId, UUID workspaceId, UpdateMembershipDto membershipDto);
+    List<MembershipResultDto> createMemberships(UUID workspaceId, List<CreateMembershipDto> items);
+    List<MembershipResultDto> updateMemberships(UUID workspaceId, List<BulkUpdateMembershipsDto.Item> items);
     void deleteMembership(UUID userId, UUID workspaceId, boolean force);
+    int deleteAllUserMemberships(UUID userId);
     List<WorkspaceMembership> listAllUserMemberships(UUID userId);
     List<WorkspaceMembership> listAllWorkspaceMemberships(UUID workspaceId);
+    List<WorkspaceMember> listWorkspaceMembers(UUID workspaceId, LocalDateTime afterJoinedAt, UUID afterUserId, int limit);
+    Optional<MembershipRoles> findRoles(UUID userId, UUID workspaceId);
+    List<MembershipRoles> findRoles(Map<UUID, UUID> workspaceIdsByUser);
 }
@@ -1,7 +1,12 @@
 package com.mochafund.identityservice.workspace.membership.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mochafund.identityservice.common.entity.UuidV7Generator;
 import com.mochafund.identityservice.common.exception.BadRequestException;
 import com.mochafund.identityservice.common.exception.ConflictException;
+import com.mochafund.identityservice.common.exception.InternalServerException;
 import com.mochafund.identityservice.common.exception.ResourceNotFoundException;
 import com.mochafund.identityservice.common.events.EventEnvelope;
 import com.mochafund.identityservice.common.events.EventType;
@@ -10,31 +15,55 @@ import com.mochafund.identityservice.role.enums.Role;
 import com.mochafund.identityservice.user.entity.User;
 import com.mochafund.identityservice.user.repository.IUserRepository;
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.membership.cache.MembershipRoleCache;
+import com.mochafund.identityservice.workspace.membership.dto.BulkUpdateMembershipsDto;
+import com.mochafund.identityservice.workspace.membership.dto.CreateMembershipDto;
+import com.mochafund.identityservice.workspace.membership.dto.MembershipResultDto;
 import com.mochafund.identityservice.workspace.membership.dto.UpdateMembershipDto;
 import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
 import com.mochafund.identityservice.workspace.membership.enums.MembershipStatus;
 import com.mochafund.identityservice.workspace.membership.events.WorkspaceMembershipEventPayload;
+import com.mochafund.identityservice.workspace.membership.projection.DeletedMembership;
+import com.mochafund.identityservice.workspace.membership.projection.InsertedMembership;
+import com.mochafund.identityservice.workspace.membership.projection.MembershipRoles;
+import com.mochafund.identityservice.workspace.membership.projection.WorkspaceMember;
 import com.mochafund.identityservice.workspace.membership.repository.IMembershipRepository;
 import com.mochafund.identityservice.workspace.repository.IWorkspaceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class MembershipService implements IMembershipService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final TypeReference<Set<Role>> ROLES_TYPE = new TypeReference<>() {};
+
     private final IMembershipRepository membershipRepository;
+    private final MembershipRoleCache membershipRoleCache;
     private final IWorkspaceRepository workspaceRepository;
     private final IUserRepository userRepository;
     private final KafkaProducer kafkaProducer;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     public List<WorkspaceMembership> listAllUserMemberships(UUID userId) {
@@ -46,6 +75,35 @@ public class MembershipService implements IMembershipService {
         return membershipRepository.findAllByWorkspace_Id(workspaceId);
     }
 
+    @Transactional(readOnly = true)
+    public List<WorkspaceMember> listWorkspaceMembers(UUID workspaceId, LocalDateTime afterJoinedAt,
+                                                      UUID afterUserId, int limit) {
+        if ((afterJoinedAt == null) != (afterUserId == null)) {
+            throw new BadRequestException("afterJoinedAt and afterUserId must be provided together");
+        }
+
+        Limit pageSize = Limit.of(Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        return afterJoinedAt == null
+                ? membershipRepository.findMembers(workspaceId, pageSize)
+                : membershipRepository.findMembersAfter(workspaceId, afterJoinedAt, afterUserId, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MembershipRoles> findRoles(UUID userId, UUID workspaceId) {
+        return membershipRepository.findRoles(userId, workspaceId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MembershipRoles> findRoles(Map<UUID, UUID> workspaceIdsByUser) {
+        if (workspaceIdsByUser.isEmpty()) return List.of();
+
+        return membershipRepository
+                .findRolesIn(workspaceIdsByUser.keySet(), Set.copyOf(workspaceIdsByUser.values()))
+                .stream()
+                .filter(m -> m.workspaceId().equals(workspaceIdsByUser.get(m.userId())))
+                .toList();
+    }
+
     @Transactional
     public WorkspaceMembership createMembership(UUID userId, UUID workspaceId, Set<Role> roles) {
         log.info("Adding user {} to workspace {} with roles {}", userId, workspaceId, roles);
@@ -63,9 +121,10 @@ public class MembershipService implements IMembershipService {
                 .workspace(workspace)
                 .roles(roles)
                 .status(MembershipStatus.ACTIVE)
-                .joinedAt(LocalDateTime.now())
+                .joinedAt(LocalDateTime.now(ZoneOffset.UTC))
                 .build());
 
+        membershipRoleCache.evict(userId, workspaceId);
         publishEvent(EventType.WORKSPACE_MEMBERSHIP_CREATED, membership);
 
         return membership;
@@ -78,30 +137,215 @@ public class MembershipService implements IMembershipService {
         WorkspaceMembership membership = membershipRepository
                 .findByUser_IdAndWorkspace_Id(userId, workspaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("User does not have a membership to workspace"));
-        membership.patchFrom(membershipDto);
+        if (membership.patchFrom(membershipDto).isEmpty()) {
+            log.debug("Update of membership {} changed nothing, skipping write and event", membership.getId());
+            return membership;
+        }
+
         WorkspaceMembership updatedMembership = membershipRepository.save(membership);
+        membershipRoleCache.evict(userId, workspaceId);
         publishEvent(EventType.WORKSPACE_MEMBERSHIP_UPDATED, updatedMembership);
 
         return updatedMembership;
     }
 
+    /**
+     * Adds several users to a workspace. Users are validated with one query and the memberships
+     * are written with one {@code INSERT ... ON CONFLICT DO NOTHING}; users that already belong
+     * to the workspace, even through a concurrent request, are reported as conflicts per item
+     * instead of failing the batch.
+     */
     @Transactional
-    public void deleteMembership(UUID userId, UUID workspaceId, boolean force) {
-        WorkspaceMembership membership =  membershipRepository.findByUser_IdAndWorkspace_Id(userId, workspaceId)
-                .orElseThrow(() -> new ResourceNotFoundException("User does not have a membership to workspace"));
+    public List<MembershipResultDto> createMemberships(UUID workspaceId, List<CreateMembershipDto> items) {
+        log.info("Adding {} users to workspace {}", items.size(), workspaceId);
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
 
-        if (!force) {
-            long total = membershipRepository.findAllByUser_Id(userId).size();
-            if (total <= 1) {
-                throw new BadRequestException("User can't be removed from their only workspace");
+        Set<UUID> userIds = items.stream().map(CreateMembershipDto::getUserId).collect(Collectors.toSet());
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Results are filled in by position: rejected up front here, the rest after the insert
+        List<MembershipResultDto> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        Map<UUID, CreateMembershipDto> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            CreateMembershipDto item = items.get(i);
+            if (!users.containsKey(item.getUserId())) {
+                results.set(i, MembershipResultDto.failure(item.getUserId(), HttpStatus.NOT_FOUND, "User not found"));
+            } else if (candidates.putIfAbsent(item.getUserId(), item) != null) {
+                results.set(i, MembershipResultDto.failure(item.getUserId(), HttpStatus.CONFLICT,
+                        "User is listed more than once in the request"));
+            }
+        }
+
+        LocalDateTime joinedAt = LocalDateTime.now(ZoneOffset.UTC);
+        Map<UUID, WorkspaceMembership> inserted = candidates.isEmpty() ? Map.of() : membershipRepository
+                .insertAllIgnoringExisting(
+                        workspaceId,
+                        candidates.keySet().stream().map(userId -> UuidV7Generator.next()).toArray(UUID[]::new),
+                        candidates.keySet().toArray(UUID[]::new),
+                        candidates.values().stream().map(item -> writeRoles(item.getRoles())).toArray(String[]::new),
+                        MembershipStatus.ACTIVE,
+                        joinedAt)
+                .stream()
+                .collect(Collectors.toMap(InsertedMembership::getUserId,
+                        row -> toMembership(row, users.get(row.getUserId()), workspace)));
+
+        List<WorkspaceMembership> created = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results.get(i) != null) continue;
+
+            CreateMembershipDto item = items.get(i);
+            WorkspaceMembership membership = inserted.get(item.getUserId());
+            if (membership == null) {
+                results.set(i, MembershipResultDto.failure(item.getUserId(), HttpStatus.CONFLICT,
+                        "User already has a membership to workspace"));
+                continue;
+            }
+
+            created.add(membership);
+            results.set(i, MembershipResultDto.success(HttpStatus.CREATED, membership));
+        }
+
+        if (!created.isEmpty()) {
+            membershipRoleCache.evictAll(toCacheKeys(created));
+            kafkaProducer.sendAll(created.stream()
+                    .map(membership -> toEvent(EventType.WORKSPACE_MEMBERSHIP_CREATED, membership))
+                    .toList());
+        }
+
+        return results;
+    }
+
+    /**
+     * Updates several memberships of a workspace, loaded with a single query. Items that
+     * change nothing succeed without a write or event; missing memberships are reported per item.
+     */
+    @Transactional
+    public List<MembershipResultDto> updateMemberships(UUID workspaceId, List<BulkUpdateMembershipsDto.Item> items) {
+        log.info("Updating {} memberships of workspace {}", items.size(), workspaceId);
+
+        Set<UUID> userIds = items.stream().map(BulkUpdateMembershipsDto.Item::getUserId).collect(Collectors.toSet());
+        Map<UUID, WorkspaceMembership> memberships = membershipRepository
+                .findAllByWorkspace_IdAndUser_IdIn(workspaceId, userIds).stream()
+                .collect(Collectors.toMap(membership -> membership.getUser().getId(), Function.identity()));
+
+        Set<UUID> seen = new HashSet<>();
+        List<WorkspaceMembership> changed = new ArrayList<>();
+        List<MembershipResultDto> results = new ArrayList<>(items.size());
+        for (BulkUpdateMembershipsDto.Item item : items) {
+            WorkspaceMembership membership = memberships.get(item.getUserId());
+            if (membership == null) {
+                results.add(MembershipResultDto.failure(item.getUserId(), HttpStatus.NOT_FOUND,
+                        "User does not have a membership to workspace"));
+            } else if (!seen.add(item.getUserId())) {
+                results.add(MembershipResultDto.failure(item.getUserId(), HttpStatus.CONFLICT,
+                        "User is listed more than once in the request"));
+            } else {
+                if (!membership.patchFrom(item.toUpdate()).isEmpty()) {
+                    changed.add(membership);
+                }
+                results.add(MembershipResultDto.success(HttpStatus.OK, membership));
             }
         }
 
-        membershipRepository.deleteByUser_IdAndWorkspace_Id(userId, workspaceId);
-        publishEvent(EventType.WORKSPACE_MEMBERSHIP_DELETED, membership);
+        if (!changed.isEmpty()) {
+            membershipRepository.saveAll(changed);
+            membershipRoleCache.evictAll(toCacheKeys(changed));
+            kafkaProducer.sendAll(changed.stream()
+                    .map(membership -> toEvent(EventType.WORKSPACE_MEMBERSHIP_UPDATED, membership))
+                    .toList());
+        }
+
+        return results;
+    }
+
+    @Transactional
+    public void deleteMembership(UUID userId, UUID workspaceId, boolean force) {
+        if (!force) {
+            // Two removals of the user's last two memberships would each still see the other one
+            // under READ COMMITTED; locking the user makes the second wait and re-check
+            userRepository.lockById(userId);
+        }
+
+        // Only on a miss do we look at why nothing was deleted
+        DeletedMembership deleted = membershipRepository.deleteReturning(userId, workspaceId, force)
+                .orElseThrow(() -> membershipRepository.existsByUser_IdAndWorkspace_Id(userId, workspaceId)
+                        ? new BadRequestException("User can't be removed from their only workspace")
+                        : new ResourceNotFoundException("User does not have a membership to workspace"));
+
+        membershipRoleCache.evict(userId, workspaceId);
+        kafkaProducer.send(toDeletedEvent(deleted));
+    }
+
+    @Transactional
+    public int deleteAllUserMemberships(UUID userId) {
+        List<DeletedMembership> deleted = membershipRepository.deleteAllByUserReturning(userId);
+
+        membershipRoleCache.evictAll(deleted.stream()
+                .map(row -> new MembershipRoleCache.Key(row.getUserId(), row.getWorkspaceId()))
+                .toList());
+        kafkaProducer.sendAll(deleted.stream().map(this::toDeletedEvent).toList());
+
+        return deleted.size();
+    }
+
+    private EventEnvelope<WorkspaceMembershipEventPayload> toDeletedEvent(DeletedMembership row) {
+        return EventEnvelope.<WorkspaceMembershipEventPayload>builder()
+                .type(EventType.WORKSPACE_MEMBERSHIP_DELETED)
+                .payload(WorkspaceMembershipEventPayload.builder()
+                        .userId(row.getUserId())
+                        .workspaceId(row.getWorkspaceId())
+                        .roles(readRoles(row.getRoles()))
+                        .status(row.getStatus())
+                        .joinedAt(row.getJoinedAt())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Detached membership holding the inserted row's values, for results and events.
+     */
+    private WorkspaceMembership toMembership(InsertedMembership row, User user, Workspace workspace) {
+        return WorkspaceMembership.builder()
+                .id(row.getId())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .user(user)
+                .workspace(workspace)
+                .roles(readRoles(row.getRoles()))
+                .status(row.getStatus())
+                .joinedAt(row.getJoinedAt())
+                .build();
+    }
+
+    private String writeRoles(Set<Role> roles) {
+        try {
+            return objectMapper.writeValueAsString(roles);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException("Failed to write membership roles: " + e.getOriginalMessage());
+        }
+    }
+
+    private Set<Role> readRoles(String roles) {
+        try {
+            return objectMapper.readValue(roles, ROLES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException("Failed to read membership roles: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<MembershipRoleCache.Key> toCacheKeys(List<WorkspaceMembership> memberships) {
+        return memberships.stream()
+                .map(m -> new MembershipRoleCache.Key(m.getUser().getId(), m.getWorkspace().getId()))
+                .toList();
     }
 
     private void publishEvent(String type, WorkspaceMembership membership) {
+        kafkaProducer.send(toEvent(type, membership));
+    }
+
+    private EventEnvelope<WorkspaceMembershipEventPayload> toEvent(String type, WorkspaceMembership membership) {
         WorkspaceMembershipEventPayload payload = WorkspaceMembershipEventPayload.builder()
                 .userId(membership.getUser().getId())
                 .workspaceId(membership.getWorkspace().getId())
@@ -110,9 +354,9 @@ public class MembershipService implements IMembershipService {
                 .joinedAt(membership.getJoinedAt())
                 .build();
 
-        kafkaProducer.send(EventEnvelope.<WorkspaceMembershipEventPayload>builder()
+        return EventEnvelope.<WorkspaceMembershipEventPayload>builder()
                 .type(type)
                 .payload(payload)
-                .build());
+                .build();
     }
 }
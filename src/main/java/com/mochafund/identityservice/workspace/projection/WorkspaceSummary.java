@@ -0,0 +1,9 @@
+package com.mochafund.identityservice.workspace.projection;
+
+import com.mochafund.identityservice.workspace.enums.WorkspaceStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WorkspaceSummary(UUID id, WorkspaceStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
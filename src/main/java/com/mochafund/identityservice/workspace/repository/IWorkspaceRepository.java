@@ -1,12 +1,60 @@
 package com.mochafund.identityservice.workspace.repository;
 
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.enums.WorkspaceStatus;
+import com.mochafund.identityservice.workspace.projection.WorkspaceSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface IWorkspaceRepository extends JpaRepository<Workspace, UUID> {
     void deleteById(UUID workspaceId);
+
+    /**
+     * The workspace, if the user is a member of it. Resolved through the unique
+     * (user_id, workspace_id) index on memberships.
+     */
+    @Query("""
+            select m.workspace from WorkspaceMembership m
+            where m.user.id = :userId and m.workspace.id = :workspaceId
+            """)
+    Optional<Workspace> findByMember(@Param("userId") UUID userId, @Param("workspaceId") UUID workspaceId);
+
+    /**
+     * Keyset page of the workspaces a user is a member of, ordered by workspace id. Only the
+     * DTO columns are selected, so nothing is loaded into the persistence context.
+     */
+    @Query("""
+            select new com.mochafund.identityservice.workspace.projection.WorkspaceSummary(
+                w.id, w.status, w.createdAt, w.updatedAt)
+            from WorkspaceMembership m join m.workspace w
+            where m.user.id = :userId and w.id > :after
+            order by w.id
+            """)
+    List<WorkspaceSummary> findSummariesByMember(@Param("userId") UUID userId,
+                                                 @Param("after") UUID after,
+                                                 Limit limit);
+
+    /**
+     * Moves the given workspaces from one status to another. Rows not currently in {@code from}
+     * are left untouched, so replays are no-ops; returns the ids of the rows that changed.
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE workspaces SET status = :#{#to.name()}, updated_at = :updatedAt
+            WHERE id IN :workspaceIds AND status = :#{#from.name()}
+            RETURNING id
+            """)
+    List<UUID> transitionStatus(@Param("workspaceIds") Collection<UUID> workspaceIds,
+                         @Param("from") WorkspaceStatus from,
+                         @Param("to") WorkspaceStatus to,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 }
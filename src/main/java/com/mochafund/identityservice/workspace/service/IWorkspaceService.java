@@ -1,17 +1,18 @@
 package com.mochafund.identityservice.workspace.service;
 
-import com.mochafund.identityservice.user.entity.User;
 import com.mochafund.identityservice.workspace.dto.CreateWorkspaceDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
+import com.mochafund.identityservice.workspace.projection.WorkspaceSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface IWorkspaceService {
     Workspace getWorkspace(UUID workspaceId);
-    List<Workspace> listAllByUserId(UUID userId);
-    List<User> listAllMembers(UUID workspaceId);
+    List<WorkspaceSummary> listAllByUserId(UUID userId, UUID after, int limit);
     Workspace provisionWorkspace(UUID userId, CreateWorkspaceDto workspaceDto);
     void deleteWorkspace(UUID workspaceId);
+    int activateWorkspaces(Collection<UUID> workspaceIds);
     Workspace switchWorkspace(UUID userId, UUID workspaceId);
 }
@@ -5,22 +5,30 @@ import com.mochafund.identityservice.common.exception.ResourceNotFoundException;
 import com.mochafund.identityservice.common.events.EventEnvelope;
 import com.mochafund.identityservice.common.events.EventType;
 import com.mochafund.identityservice.kafka.KafkaProducer;
+import com.mochafund.identityservice.keycloak.enums.SyncMode;
 import com.mochafund.identityservice.keycloak.service.IKeycloakAdminService;
 import com.mochafund.identityservice.role.enums.Role;
-import com.mochafund.identityservice.user.entity.User;
+import com.mochafund.identityservice.user.cache.UserCache;
+import com.mochafund.identityservice.user.events.UserEventPayload;
+import com.mochafund.identityservice.user.projection.UpdatedUser;
 import com.mochafund.identityservice.user.repository.IUserRepository;
+import com.mochafund.identityservice.workspace.cache.WorkspaceCache;
 import com.mochafund.identityservice.workspace.dto.CreateWorkspaceDto;
 import com.mochafund.identityservice.workspace.entity.Workspace;
 import com.mochafund.identityservice.workspace.enums.WorkspaceStatus;
 import com.mochafund.identityservice.workspace.events.WorkspaceEventPayload;
-import com.mochafund.identityservice.workspace.membership.entity.WorkspaceMembership;
 import com.mochafund.identityservice.workspace.membership.service.IMembershipService;
+import com.mochafund.identityservice.workspace.projection.WorkspaceSummary;
 import com.mochafund.identityservice.workspace.repository.IWorkspaceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -30,30 +38,28 @@ import java.util.UUID;
 @Service
 public class WorkspaceService implements IWorkspaceService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    // Lowest value in Postgres' uuid ordering, used as the cursor for the first page
+    private static final UUID FIRST_PAGE = new UUID(0L, 0L);
+
     private final IWorkspaceRepository workspaceRepository;
+    private final WorkspaceCache workspaceCache;
+    private final UserCache userCache;
     private final IMembershipService membershipService;
     private final IUserRepository userRepository;
     private final IKeycloakAdminService keycloakAdminService;
     private final KafkaProducer kafkaProducer;
 
-    @Transactional(readOnly = true)
+    // No surrounding transaction, so cache hits never check out a connection
     public Workspace getWorkspace(UUID workspaceId) {
-        return workspaceRepository.findById(workspaceId).orElseThrow(
+        return workspaceCache.get(workspaceId, workspaceRepository::findById).orElseThrow(
                 () -> new ResourceNotFoundException("Workspace not found"));
     }
 
     @Transactional(readOnly = true)
-    public List<Workspace> listAllByUserId(UUID userId) {
-        return membershipService.listAllUserMemberships(userId)
-                .stream().map(WorkspaceMembership::getWorkspace).toList();
-    }
-
-    @Transactional(readOnly = true)
-    public List<User> listAllMembers(UUID workspaceId) {
-        return this.getWorkspace(workspaceId).getMemberships()
-                .stream()
-                .map(WorkspaceMembership::getUser)
-                .toList();
+    public List<WorkspaceSummary> listAllByUserId(UUID userId, UUID after, int limit) {
+        UUID cursor = after != null ? after : FIRST_PAGE;
+        return workspaceRepository.findSummariesByMember(userId, cursor, Limit.of(Math.clamp(limit, 1, MAX_PAGE_SIZE)));
     }
 
     @Transactional
@@ -85,6 +91,7 @@ public class WorkspaceService implements IWorkspaceService {
 
         log.info("Deleting workspace {}", workspaceId);
         workspaceRepository.deleteById(workspaceId);
+        workspaceCache.evict(workspaceId);
 
         WorkspaceEventPayload deletedPayload = WorkspaceEventPayload.builder()
                 .workspaceId(workspace.getId())
@@ -97,24 +104,47 @@ public class WorkspaceService implements IWorkspaceService {
                 .build());
     }
 
+    /**
+     * Activates the workspaces that are still provisioning. This node evicts them now and
+     * after commit; other nodes evict on the workspace.activated events, which the outbox
+     * only relays once the new status is committed and visible.
+     */
+    @Transactional
+    public int activateWorkspaces(Collection<UUID> workspaceIds) {
+        if (workspaceIds.isEmpty()) return 0;
+        List<UUID> activated = workspaceRepository.transitionStatus(
+                workspaceIds, WorkspaceStatus.PROVISIONING, WorkspaceStatus.ACTIVE, LocalDateTime.now(ZoneOffset.UTC));
+        if (activated.isEmpty()) return 0;
+
+        workspaceCache.evictAll(activated);
+        kafkaProducer.sendAll(activated.stream()
+                .map(workspaceId -> EventEnvelope.<WorkspaceEventPayload>builder()
+                        .type(EventType.WORKSPACE_ACTIVATED)
+                        .payload(WorkspaceEventPayload.builder()
+                                .workspaceId(workspaceId)
+                                .status(WorkspaceStatus.ACTIVE.name())
+                                .build())
+                        .build())
+                .toList());
+        return activated.size();
+    }
+
     @Transactional
     public Workspace switchWorkspace(UUID userId, UUID workspaceId) {
         log.info("User {} switching to workspace {}", userId, workspaceId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        WorkspaceMembership membership = user
-                .getMemberships()
-                .stream()
-                .filter(w -> w.getWorkspace().getId().equals(workspaceId))
-                .findFirst()
+        Workspace targetWorkspace = workspaceRepository.findByMember(userId, workspaceId)
                 .orElseThrow(() -> new AccessDeniedException("User does not have access to workspace"));
 
-        Workspace targetWorkspace = membership.getWorkspace();
-        user.setLastWorkspaceId(targetWorkspace.getId());
-        userRepository.save(user);
-        keycloakAdminService.syncAttributes(user);
+        UpdatedUser user = userRepository.updateLastWorkspaceId(userId, targetWorkspace.getId(), LocalDateTime.now(ZoneOffset.UTC))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        userCache.evict(userId);
+        // Other nodes evict their cached user (and its ETag) on this event
+        kafkaProducer.send(EventEnvelope.<UserEventPayload>builder()
+                .type(EventType.USER_UPDATED)
+                .payload(UserEventPayload.fromUpdated(user))
+                .build());
+        keycloakAdminService.syncAttributes(userId, SyncMode.AWAIT);
 
         log.info("Successfully switched user {} to workspace '{}'", userId, targetWorkspace.getId());
         return targetWorkspace;
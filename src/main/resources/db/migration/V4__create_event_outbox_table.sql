@@ -0,0 +1,12 @@
+-- Domain events written in the same transaction as the entity change, drained by the relay.
+-- The id only identifies a row: nextval runs when the event is persisted, not when its
+-- transaction commits, so ids do not give publish order (see relay_seq, V8).
+CREATE SEQUENCE event_outbox_seq;
+
+CREATE TABLE event_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('event_outbox_seq'),
+    topic VARCHAR(255) NOT NULL,
+    aggregate_key VARCHAR(255),
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,3 @@
+-- Supports the keyset-paginated member listing: workspace_id = ? ordered by (joined_at, user_id)
+CREATE INDEX idx_workspace_memberships_workspace_joined
+    ON workspace_memberships (workspace_id, joined_at, user_id);
@@ -0,0 +1,19 @@
+-- Time-ordered UUIDv7 ids for rows inserted without an id (the application generates its own,
+-- see UuidV7Generator). Named to stay clear of the built-in uuidv7() in PostgreSQL 18+.
+-- Overlays the 48-bit Unix millisecond timestamp onto a random v4 UUID and sets version 7.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE PARALLEL SAFE;
+
+-- Existing v4 ids stay as they are; only new rows get time-ordered ids
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE workspaces ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE workspace_memberships ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,7 @@
+-- The relay claims a batch under a lease and publishes it outside the transaction. While any
+-- lease is live no other node claims, so per-key order holds; an expired lease (crashed relay)
+-- makes its rows claimable again.
+ALTER TABLE event_outbox ADD COLUMN claimed_by UUID;
+ALTER TABLE event_outbox ADD COLUMN claimed_until TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX idx_event_outbox_claimed_until ON event_outbox (claimed_until) WHERE claimed_until IS NOT NULL;
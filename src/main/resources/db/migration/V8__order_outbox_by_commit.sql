@@ -0,0 +1,26 @@
+-- Publish order for the relay. Ids are taken when an event is persisted, before its transaction
+-- has written (and locked) the entity rows, so two transactions on one aggregate can commit in
+-- the opposite order of their ids. relay_seq is taken by a deferred trigger at commit instead,
+-- while those row locks are still held: a later writer of the same aggregate can only commit,
+-- and take its relay_seq, after the earlier one has, so per-key relay_seq order is write order.
+CREATE SEQUENCE event_outbox_relay_seq;
+
+ALTER TABLE event_outbox ADD COLUMN relay_seq BIGINT;
+
+-- Rows already waiting keep their id order
+UPDATE event_outbox SET relay_seq = id;
+SELECT setval('event_outbox_relay_seq', COALESCE((SELECT max(id) FROM event_outbox), 0) + 1, false);
+
+CREATE FUNCTION event_outbox_assign_relay_seq() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE event_outbox SET relay_seq = nextval('event_outbox_relay_seq') WHERE id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER event_outbox_relay_seq_on_commit
+    AFTER INSERT ON event_outbox
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION event_outbox_assign_relay_seq();
+
+CREATE INDEX idx_event_outbox_relay_seq ON event_outbox (relay_seq);